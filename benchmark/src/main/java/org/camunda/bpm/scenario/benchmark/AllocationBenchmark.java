@@ -0,0 +1,135 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.impl.timeline.TimelineImpl;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the bytes allocated per scheduler step for representative
+ * scenario shapes. JMH's GC profiler ("gc.alloc.rate.norm") reports the
+ * bytes allocated per scenario; the auxiliary counter "bytesPerStep"
+ * divides the bytes allocated by the benchmark thread by the number of
+ * steps executed.
+ *
+ * <pre>
+ * java -cp benchmark/target/benchmarks.jar org.camunda.bpm.scenario.benchmark.AllocationBenchmark
+ * java -jar benchmark/target/benchmarks.jar AllocationBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AllocationBenchmark {
+
+  public enum Shape {
+
+    sequence {
+      Workload workload() {
+        return new Workload().key("Sequence").userTasks(50);
+      }
+    },
+
+    parallel {
+      Workload workload() {
+        return new Workload().key("Parallel").parallelWidth(50);
+      }
+    },
+
+    timers {
+      Workload workload() {
+        return new Workload().key("Timers").timers(50);
+      }
+    },
+
+    mixed {
+      Workload workload() {
+        return new Workload().key("Mixed").userTasks(10).parallelWidth(10).nestedSubprocesses(3)
+            .multiInstance(10, false).boundaryTimers(5).timers(5).loopIterations(5).callActivityDepth(2);
+      }
+    };
+
+    abstract Workload workload();
+
+  }
+
+  @Param
+  public Shape shape;
+
+  private ProcessEngine processEngine;
+  private Workload workload;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(AllocationBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+
+  @Setup(Level.Trial)
+  public void deploy() {
+    processEngine = Engines.inMemory();
+    workload = shape.workload();
+    workload.deploy(processEngine);
+  }
+
+  @TearDown(Level.Trial)
+  public void close() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public Scenario execute(Counters counters) {
+    long before = Allocations.isSupported() ? Allocations.allocatedBytes() : 0;
+    Scenario scenario = Scenario.run(workload.scenario())
+        .startByKey(workload.getKey(), workload.variables())
+        .engine(processEngine)
+        .execute();
+    if (Allocations.isSupported())
+      counters.allocated += Allocations.allocatedBytes() - before;
+    counters.steps += ((TimelineImpl) scenario.timeline()).steps().size();
+    return scenario;
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Counters {
+
+    private long allocated;
+    private long steps;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      allocated = 0;
+      steps = 0;
+    }
+
+    public double bytesPerStep() {
+      return steps == 0 ? 0 : (double) allocated / steps;
+    }
+
+  }
+
+}
@@ -0,0 +1,43 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.impl.timeline.TimelineImpl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the bytes allocated by the current thread per scheduler step
+ * while running a {@link Workload}. Relies on the HotSpot specific
+ * {@code com.sun.management.ThreadMXBean}; on other virtual machines
+ * {@link #isSupported()} returns false.
+ */
+public class Allocations {
+
+  private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+  public static boolean isSupported() {
+    return threads instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported();
+  }
+
+  public static long allocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Run the deployed workload once and return the bytes allocated by
+   * the current thread divided by the number of scheduler steps.
+   */
+  public static double bytesPerStep(ProcessEngine processEngine, Workload workload) {
+    long before = allocatedBytes();
+    Scenario scenario = Scenario.run(workload.scenario())
+        .startByKey(workload.getKey(), workload.variables())
+        .engine(processEngine)
+        .execute();
+    long allocated = allocatedBytes() - before;
+    return (double) allocated / ((TimelineImpl) scenario.timeline()).steps().size();
+  }
+
+}
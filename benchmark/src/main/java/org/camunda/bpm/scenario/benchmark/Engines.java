@@ -0,0 +1,76 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.scenario.impl.history.ScenarioHistoryLevel;
+import org.camunda.bpm.scenario.impl.history.ScenarioHistoryPlugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the process engines benchmarks run against: an in memory H2
+ * database per engine, the job executor switched off and history on
+ * level "audit" - the same setup the test modules use.
+ */
+public class Engines {
+
+  private static final AtomicInteger sequence = new AtomicInteger();
+
+  public static ProcessEngine inMemory() {
+    return configuration().buildProcessEngine();
+  }
+
+  /**
+   * @return an in memory engine on the given history level, where level
+   * "scenario" installs the {@link ScenarioHistoryPlugin}
+   */
+  public static ProcessEngine inMemory(String history) {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) configuration();
+    if (ScenarioHistoryLevel.NAME.equals(history)) {
+      List<ProcessEnginePlugin> plugins = new ArrayList<>();
+      plugins.add(new ScenarioHistoryPlugin());
+      configuration.setProcessEnginePlugins(plugins);
+    } else {
+      configuration.setHistory(history);
+    }
+    return configuration.buildProcessEngine();
+  }
+
+  /**
+   * @return an engine on an H2 database in the given file, which survives
+   * the engine and can be inspected after e.g. a load test
+   */
+  public static ProcessEngine file(String path) {
+    return configuration()
+        .setJdbcUrl("jdbc:h2:file:" + path + ";DB_CLOSE_DELAY=-1")
+        .buildProcessEngine();
+  }
+
+  /**
+   * @return an engine on the database with the given JDBC connection
+   * properties, e.g. the PostgreSQL database of a staging system
+   */
+  public static ProcessEngine jdbc(String driver, String url, String username, String password) {
+    return configuration()
+        .setJdbcDriver(driver)
+        .setJdbcUrl(url)
+        .setJdbcUsername(username)
+        .setJdbcPassword(password)
+        .buildProcessEngine();
+  }
+
+  public static ProcessEngineConfiguration configuration() {
+    int id = sequence.incrementAndGet();
+    return ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+        .setProcessEngineName("benchmark-" + id)
+        .setJdbcUrl("jdbc:h2:mem:benchmark-" + id + ";DB_CLOSE_DELAY=-1")
+        .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE)
+        .setHistory(ProcessEngineConfiguration.HISTORY_AUDIT)
+        .setJobExecutorActivate(false);
+  }
+
+}
@@ -0,0 +1,123 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.scenario.Scenario;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of completing external task wait states (service,
+ * send and business rule tasks) while a growing number of external tasks
+ * of other process instances are open on the same topic. Before every
+ * invocation the open tasks locked by the previous one are unlocked
+ * again, so that every invocation finds all of them available. Besides
+ * the time per scenario, the auxiliary counter "lockedPerCompletion"
+ * reports how many of the open tasks a single completion locked as a
+ * side effect.
+ *
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar ExternalTaskBenchmark -p openTasks=0,100,1000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExternalTaskBenchmark {
+
+  private static final String TOPIC = "benchmark";
+
+  @Param({"0", "10", "100", "1000"})
+  public int openTasks;
+
+  @Param("9")
+  public int externalTasks;
+
+  private ProcessEngine processEngine;
+  private Workload workload;
+
+  @Setup(Level.Trial)
+  public void deploy() {
+    processEngine = Engines.inMemory();
+    workload = new Workload().key("External").externalTasks(externalTasks, TOPIC);
+    workload.deploy(processEngine);
+    Workload open = new Workload().key("Open").externalTasks(1, TOPIC);
+    open.deploy(processEngine);
+    for (int i = 0; i < openTasks; i++) {
+      processEngine.getRuntimeService().startProcessInstanceByKey(open.getKey());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void close() {
+    processEngine.close();
+  }
+
+  /**
+   * Unlock the open tasks locked as a side effect of the last invocation.
+   *
+   * @return the number of tasks unlocked
+   */
+  int unlock() {
+    ExternalTaskService externalTaskService = processEngine.getExternalTaskService();
+    int unlocked = 0;
+    for (ExternalTask task: externalTaskService.createExternalTaskQuery().topicName(TOPIC).locked().list()) {
+      externalTaskService.unlock(task.getId());
+      unlocked++;
+    }
+    return unlocked;
+  }
+
+  @Benchmark
+  public Scenario execute(Counters counters) {
+    Scenario scenario = Scenario.run(workload.scenario())
+        .startByKey(workload.getKey(), workload.variables())
+        .engine(processEngine)
+        .execute();
+    counters.completions += externalTasks;
+    return scenario;
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Counters {
+
+    private long locked;
+    private long completions;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      locked = 0;
+      completions = 0;
+    }
+
+    @Setup(Level.Invocation)
+    public void unlock(ExternalTaskBenchmark benchmark) {
+      locked += benchmark.unlock();
+    }
+
+    public double lockedPerCompletion() {
+      return completions == 0 ? 0 : (double) locked / completions;
+    }
+
+  }
+
+}
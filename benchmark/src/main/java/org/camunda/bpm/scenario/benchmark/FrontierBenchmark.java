@@ -0,0 +1,99 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.scenario.impl.frontier.FrontierEntry;
+import org.camunda.bpm.scenario.impl.frontier.FrontierPlugin;
+import org.camunda.bpm.scenario.impl.frontier.FrontierQueryCmd;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares polling the frontier of a number of open process instances -
+ * their unfinished activity instances, jobs, tasks and external tasks -
+ * with one query per kind and process instance (the way a scenario polls
+ * today) against the single round trip of the {@link FrontierQueryCmd}.
+ * Every process instance waits at a user task guarded by a boundary timer
+ * and at an external task.
+ *
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar FrontierBenchmark -p instances=1,10,100
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FrontierBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int instances;
+
+  private ProcessEngine processEngine;
+  private CommandExecutor commandExecutor;
+  private List<String> processInstanceIds = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void deploy() {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) Engines.configuration();
+    List<ProcessEnginePlugin> plugins = new ArrayList<>();
+    plugins.add(new FrontierPlugin());
+    configuration.setProcessEnginePlugins(plugins);
+    processEngine = configuration.buildProcessEngine();
+    commandExecutor = ((ProcessEngineImpl) processEngine).getProcessEngineConfiguration().getCommandExecutorTxRequired();
+    Workload guarded = new Workload().key("Guarded").boundaryTimers(1);
+    guarded.deploy(processEngine);
+    Workload external = new Workload().key("External").externalTasks(1, "benchmark");
+    external.deploy(processEngine);
+    for (int i = 0; i < instances; i++) {
+      processInstanceIds.add(processEngine.getRuntimeService().startProcessInstanceByKey(guarded.getKey()).getId());
+      processInstanceIds.add(processEngine.getRuntimeService().startProcessInstanceByKey(external.getKey()).getId());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void close() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public void separateQueries(Blackhole blackhole) {
+    for (String processInstanceId: processInstanceIds) {
+      blackhole.consume(processEngine.getHistoryService().createHistoricActivityInstanceQuery()
+          .processInstanceId(processInstanceId).unfinished().list());
+      blackhole.consume(processEngine.getManagementService().createJobQuery()
+          .processInstanceId(processInstanceId).list());
+      blackhole.consume(processEngine.getTaskService().createTaskQuery()
+          .processInstanceId(processInstanceId).list());
+      blackhole.consume(processEngine.getExternalTaskService().createExternalTaskQuery()
+          .processInstanceId(processInstanceId).list());
+    }
+  }
+
+  @Benchmark
+  public List<FrontierEntry> combinedQuery() {
+    return commandExecutor.execute(new FrontierQueryCmd(processInstanceIds));
+  }
+
+}
@@ -0,0 +1,159 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator;
+import org.camunda.bpm.scenario.impl.util.IdComparator;
+import org.camunda.bpm.scenario.impl.util.IdKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares ordering engine ids by parsing them on every comparison (as
+ * the scheduler used to do) with ordering ids parsed once into an
+ * {@link IdKey}, for the numeric ids of the engine's DbIdGenerator and
+ * the UUIDs of its StrongUuidGenerator.
+ *
+ * <pre>
+ * java -cp benchmark/target/benchmarks.jar org.camunda.bpm.scenario.benchmark.IdComparatorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdComparatorBenchmark {
+
+  public enum Generator {
+
+    numeric {
+      List<String> ids(int size) {
+        // the DbIdGenerator hands out blocks of increasing longs
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+          ids.add(Long.toString(100 + i * 3));
+        }
+        return ids;
+      }
+    },
+
+    uuid {
+      List<String> ids(int size) {
+        StrongUuidGenerator generator = new StrongUuidGenerator();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+          ids.add(generator.getNextId());
+        }
+        return ids;
+      }
+    };
+
+    abstract List<String> ids(int size);
+
+  }
+
+  @Param
+  public Generator generator;
+
+  @Param({"1000"})
+  public int size;
+
+  private List<String> ids;
+  private List<IdKey> keys;
+  private String id1, id2;
+  private IdKey key1, key2;
+
+  private final IdComparator idComparator = new IdComparator();
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(IdComparatorBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  @Setup
+  public void generate() {
+    ids = generator.ids(size);
+    Collections.shuffle(ids, new Random(42));
+    keys = new ArrayList<>();
+    for (String id: ids) {
+      keys.add(IdKey.of(id));
+    }
+    id1 = ids.get(0);
+    id2 = ids.get(1);
+    key1 = keys.get(0);
+    key2 = keys.get(1);
+  }
+
+  @Benchmark
+  public int compareParsingEachTime() {
+    return parsingEachTime(id1, id2);
+  }
+
+  @Benchmark
+  public int compareParsingOnce() {
+    return IdKey.of(id1).compareTo(IdKey.of(id2));
+  }
+
+  @Benchmark
+  public int comparePreParsed() {
+    return key1.compareTo(key2);
+  }
+
+  @Benchmark
+  public List<String> sortParsingEachTime() {
+    List<String> sorted = new ArrayList<>(ids);
+    sorted.sort(IdComparatorBenchmark::parsingEachTime);
+    return sorted;
+  }
+
+  @Benchmark
+  public List<String> sortIdComparator() {
+    List<String> sorted = new ArrayList<>(ids);
+    sorted.sort(idComparator);
+    return sorted;
+  }
+
+  @Benchmark
+  public List<IdKey> sortPreParsed() {
+    List<IdKey> sorted = new ArrayList<>(keys);
+    Collections.sort(sorted);
+    return sorted;
+  }
+
+  /*
+   * The former IdComparator: parses both ids with Long.parseLong and
+   * falls back to UUID.fromString on every single comparison.
+   */
+  static int parsingEachTime(String thisId, String otherId) {
+    String string1 = thisId.substring(thisId.lastIndexOf(':') + 1);
+    String string2 = otherId.substring(otherId.lastIndexOf(':') + 1);
+    try {
+      Long long1 = Long.parseLong(string1);
+      Long long2 = Long.parseLong(string2);
+      return long1.compareTo(long2);
+    } catch (NumberFormatException e1) {
+      return UUID.fromString(string1).compareTo(UUID.fromString(string2));
+    }
+  }
+
+}
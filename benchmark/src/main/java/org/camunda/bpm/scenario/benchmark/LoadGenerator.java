@@ -0,0 +1,189 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.impl.ScenarioImpl;
+import org.camunda.bpm.scenario.impl.monitor.ActivityMetrics;
+import org.camunda.bpm.scenario.impl.util.Time;
+import org.camunda.bpm.scenario.timeline.TimelineEntry;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates load on a process engine by starting process instances at a
+ * configurable rate and driving their wait states through the actions of
+ * a {@link ProcessScenario}, from many threads and using the real wall
+ * clock: timers and deferred actions are waited for rather than fast
+ * forwarded. Each instance is run by a scenario of its own in one of the
+ * worker threads. To also measure the time spent in engine commands per
+ * action, install a CommandCounterPlugin with the process engine.
+ *
+ * <pre>
+ * LoadReport report = new LoadGenerator(processEngine)
+ *   .scenario(scenario).startByKey("Workload", variables)
+ *   .rate(50).threads(32).duration(60)
+ *   .run();
+ * report.print(System.out);
+ * </pre>
+ *
+ * As the engine's clock is global, scenarios executed in the same JVM
+ * while load is generated run in wall clock mode, too.
+ */
+public class LoadGenerator {
+
+  private ProcessEngine processEngine;
+  private ProcessScenario scenario;
+  private String processDefinitionKey;
+  private Map<String, Object> variables;
+  private double rate = 10;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private long duration = 10;
+
+  public LoadGenerator(ProcessEngine processEngine) {
+    this.processEngine = processEngine;
+  }
+
+  /**
+   * Generate load with a generated {@link Workload} on an H2 file database,
+   * or on the database given by the system properties "jdbc.driver",
+   * "jdbc.url", "jdbc.username" and "jdbc.password".
+   *
+   * <pre>
+   * java -Dload.rate=50 -Dload.threads=32 -Dload.duration=60 -Dload.userTasks=10 \
+   *   -cp benchmark/target/benchmarks.jar org.camunda.bpm.scenario.benchmark.LoadGenerator
+   * </pre>
+   */
+  public static void main(String[] args) throws InterruptedException {
+    String url = System.getProperty("jdbc.url");
+    ProcessEngine processEngine = url != null
+        ? Engines.jdbc(System.getProperty("jdbc.driver", "org.postgresql.Driver"), url, System.getProperty("jdbc.username"), System.getProperty("jdbc.password"))
+        : Engines.file(System.getProperty("load.db", "target/load"));
+    try {
+      Workload workload = new Workload()
+          .key("Load")
+          .userTasks(Integer.getInteger("load.userTasks", 5))
+          .parallelWidth(Integer.getInteger("load.parallelWidth", 0))
+          .callActivityDepth(Integer.getInteger("load.callActivityDepth", 0));
+      workload.deploy(processEngine);
+      LoadReport report = new LoadGenerator(processEngine)
+          .scenario(workload.scenario())
+          .startByKey(workload.getKey(), workload.variables())
+          .rate(Double.parseDouble(System.getProperty("load.rate", "10")))
+          .threads(Integer.getInteger("load.threads", Runtime.getRuntime().availableProcessors()))
+          .duration(Long.getLong("load.duration", 10L))
+          .run();
+      report.print(System.out);
+    } finally {
+      processEngine.close();
+    }
+  }
+
+  public LoadGenerator scenario(ProcessScenario scenario) {
+    this.scenario = scenario;
+    return this;
+  }
+
+  public LoadGenerator startByKey(String processDefinitionKey) {
+    return startByKey(processDefinitionKey, null);
+  }
+
+  public LoadGenerator startByKey(String processDefinitionKey, Map<String, Object> variables) {
+    this.processDefinitionKey = processDefinitionKey;
+    this.variables = variables;
+    return this;
+  }
+
+  /**
+   * @param rate process instances to be started per second
+   */
+  public LoadGenerator rate(double rate) {
+    this.rate = rate;
+    return this;
+  }
+
+  /**
+   * @param threads number of worker threads running the scenarios
+   */
+  public LoadGenerator threads(int threads) {
+    this.threads = threads;
+    return this;
+  }
+
+  /**
+   * @param seconds for how long new process instances are started
+   */
+  public LoadGenerator duration(long seconds) {
+    this.duration = seconds;
+    return this;
+  }
+
+  /**
+   * Generate the load and wait until all instances started have ended.
+   */
+  public LoadReport run() throws InterruptedException {
+    if (scenario == null || processDefinitionKey == null)
+      throw new IllegalStateException("Provide a scenario and the key of the process to be started.");
+    Time.wallClock(true);
+    ActivityMetrics.record(true);
+    final LoadReport report = new LoadReport();
+    final ExecutorService workers = Executors.newFixedThreadPool(threads);
+    ScheduledExecutorService starter = Executors.newSingleThreadScheduledExecutor();
+    final long period = (long) (1e9 / rate);
+    final long begin = System.nanoTime();
+    final AtomicLong sequence = new AtomicLong();
+    try {
+      starter.scheduleAtFixedRate(new java.lang.Runnable() {
+        @Override
+        public void run() {
+          // latencies are measured from the intended start, so that
+          // overloaded workers can't hide their queueing delay
+          final long intended = begin + sequence.getAndIncrement() * period;
+          workers.execute(new java.lang.Runnable() {
+            @Override
+            public void run() {
+              execute(report, intended);
+            }
+          });
+        }
+      }, 0, period, TimeUnit.NANOSECONDS);
+      Thread.sleep(TimeUnit.SECONDS.toMillis(duration));
+      starter.shutdown();
+      starter.awaitTermination(1, TimeUnit.MINUTES);
+      report.started(System.nanoTime() - begin);
+      workers.shutdown();
+      workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      report.ended(System.nanoTime() - begin);
+    } finally {
+      starter.shutdownNow();
+      workers.shutdownNow();
+      Time.wallClock(false);
+      ActivityMetrics.record(false);
+    }
+    return report;
+  }
+
+  protected void execute(LoadReport report, long intended) {
+    try {
+      Scenario run = Scenario.run(scenario)
+          .startByKey(processDefinitionKey, variables)
+          .engine(processEngine)
+          .execute();
+      report.instance(System.nanoTime() - intended);
+      for (TimelineEntry entry: run.timeline().entries()) {
+        if (entry.isFinished())
+          report.activity(entry.getActivityId(), entry.getEndTime().getTime() - entry.getStartTime().getTime());
+      }
+      report.metrics(((ScenarioImpl) run).metrics());
+      run.close();
+    } catch (RuntimeException e) {
+      report.failed(e);
+    }
+  }
+
+}
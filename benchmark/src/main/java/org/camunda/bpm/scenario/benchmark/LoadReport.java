@@ -0,0 +1,106 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.scenario.impl.monitor.ActivityMetrics;
+import org.camunda.bpm.scenario.impl.monitor.Histogram;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and latency histograms of a load generated with the
+ * {@link LoadGenerator}: per process instance from its intended start
+ * to its end, per activity from activity instance start to end and the
+ * {@link ActivityMetrics} of the actions executed on behalf of the
+ * scenarios, merged over all worker threads.
+ */
+public class LoadReport {
+
+  private long startedNanos;
+  private long endedNanos;
+  private AtomicLong failures = new AtomicLong();
+  private volatile RuntimeException failure;
+
+  private Histogram instances = new Histogram();
+  private ConcurrentMap<String, Histogram> activities = new ConcurrentHashMap<String, Histogram>();
+  private ActivityMetrics metrics = new ActivityMetrics();
+
+  void started(long nanos) {
+    startedNanos = nanos;
+  }
+
+  void ended(long nanos) {
+    endedNanos = nanos;
+  }
+
+  void instance(long nanos) {
+    instances.record(nanos);
+  }
+
+  void activity(String activityId, long millis) {
+    Histogram histogram = activities.get(activityId);
+    if (histogram == null) {
+      Histogram existing = activities.putIfAbsent(activityId, histogram = new Histogram());
+      if (existing != null)
+        histogram = existing;
+    }
+    histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  void metrics(ActivityMetrics metrics) {
+    if (metrics != null)
+      this.metrics.merge(metrics);
+  }
+
+  void failed(RuntimeException e) {
+    failures.incrementAndGet();
+    failure = e;
+  }
+
+  public long getInstances() {
+    return instances.count();
+  }
+
+  public long getFailures() {
+    return failures.get();
+  }
+
+  public RuntimeException getFailure() {
+    return failure;
+  }
+
+  /**
+   * @return process instances ended per second
+   */
+  public double getThroughput() {
+    return endedNanos > 0 ? instances.count() * 1e9 / endedNanos : 0;
+  }
+
+  public Histogram getInstanceLatencies() {
+    return instances;
+  }
+
+  public Map<String, Histogram> getActivityLatencies() {
+    return new TreeMap<String, Histogram>(activities);
+  }
+
+  public ActivityMetrics getMetrics() {
+    return metrics;
+  }
+
+  public void print(PrintStream out) {
+    out.println(String.format(Locale.ROOT, "%d instances (%d failed) in %.1fs, started during %.1fs: %.1f instances/s",
+        getInstances(), getFailures(), endedNanos / 1e9, startedNanos / 1e9, getThroughput()));
+    out.println(ActivityMetrics.line("Instance", "process instance", instances));
+    for (Map.Entry<String, Histogram> entry: getActivityLatencies().entrySet()) {
+      out.println(ActivityMetrics.line("Activity", entry.getKey(), entry.getValue()));
+    }
+    metrics.print(out);
+  }
+
+}
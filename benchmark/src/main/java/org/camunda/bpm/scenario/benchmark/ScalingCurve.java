@@ -0,0 +1,185 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.impl.timeline.TimelineImpl;
+import org.camunda.bpm.scenario.impl.timeline.TimelineSteps;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs the same generated scenario at growing sizes and fits the curve
+ * of wall time vs. number of activity instances to a power law
+ * {@code time = c * size^exponent}. An exponent around 1 means the cost
+ * per activity instance is constant, an exponent around 2 that it grows
+ * with the size of the process instance - e.g. because every step
+ * rescans the whole history. The exponent is reported for the scenario
+ * execution as a whole, for the bookkeeping of executed activity
+ * instances (ProcessRunnerImpl.setExecuted()) and for polling the
+ * runners for jobs and wait states.
+ *
+ * <pre>
+ * java -cp benchmark/target/benchmarks.jar org.camunda.bpm.scenario.benchmark.ScalingCurve 10 100 1000 10000
+ * </pre>
+ *
+ * With the system property {@value #MAX_EXPONENT_PROPERTY} set, the
+ * process exits with a failure code in case any exponent exceeds it,
+ * so that the report can guard against regressions on a build server.
+ */
+public class ScalingCurve {
+
+  public static final String MAX_EXPONENT_PROPERTY = "scaling.maxExponent";
+  public static final String RUNS_PROPERTY = "scaling.runs";
+
+  private static final double SUPER_LINEAR = 1.2;
+  private static final int[] DEFAULT_SIZES = { 10, 100, 1000, 10000 };
+
+  private int[] sizes;
+  private int runs;
+
+  private List<Point> points = new ArrayList<Point>();
+
+  public ScalingCurve(int[] sizes, int runs) {
+    if (runs < 1)
+      throw new IllegalArgumentException("At least one run per size is needed " +
+          "to fit a scaling curve, but '" + RUNS_PROPERTY + "' is " + runs);
+    this.sizes = sizes;
+    this.runs = runs;
+  }
+
+  public static void main(String[] args) {
+    int[] sizes = DEFAULT_SIZES;
+    if (args.length > 0) {
+      sizes = new int[args.length];
+      for (int i = 0; i < args.length; i++) {
+        sizes[i] = Integer.parseInt(args[i]);
+      }
+    }
+    ScalingCurve curve = new ScalingCurve(sizes, Integer.getInteger(RUNS_PROPERTY, 3));
+    curve.measure();
+    curve.report(System.out);
+    String max = System.getProperty(MAX_EXPONENT_PROPERTY);
+    if (max != null && curve.maxExponent() > Double.parseDouble(max)) {
+      System.err.println(String.format(Locale.ROOT, "Scaling exponent %.2f exceeds %s", curve.maxExponent(), max));
+      System.exit(1);
+    }
+  }
+
+  public void measure() {
+    ProcessEngine processEngine = Engines.inMemory();
+    try {
+      for (int size: sizes) {
+        Workload workload = new Workload().key("Scaling" + size).userTasks(size);
+        workload.deploy(processEngine);
+        Point best = null;
+        // the first run warms up, the fastest of the remaining ones counts
+        for (int run = 0; run <= runs; run++) {
+          Point point = run(processEngine, workload, size);
+          if (run > 0 && (best == null || point.execute < best.execute))
+            best = point;
+        }
+        points.add(best);
+      }
+    } finally {
+      processEngine.close();
+    }
+  }
+
+  protected Point run(ProcessEngine processEngine, Workload workload, int size) {
+    long started = System.nanoTime();
+    Scenario scenario = Scenario.run(workload.scenario())
+        .startByKey(workload.getKey(), workload.variables())
+        .engine(processEngine)
+        .execute();
+    Point point = new Point(size);
+    point.execute = System.nanoTime() - started;
+    TimelineSteps steps = ((TimelineImpl) scenario.timeline()).steps();
+    point.steps = steps.size();
+    for (int step = 0; step < steps.size(); step++) {
+      point.polling += steps.polling(step);
+      point.bookkeeping += steps.bookkeeping(step);
+    }
+    scenario.close();
+    return point;
+  }
+
+  public double executeExponent() {
+    double[] y = new double[points.size()];
+    for (int i = 0; i < y.length; i++) {
+      y[i] = points.get(i).execute;
+    }
+    return exponent(y);
+  }
+
+  public double bookkeepingExponent() {
+    double[] y = new double[points.size()];
+    for (int i = 0; i < y.length; i++) {
+      y[i] = points.get(i).bookkeeping;
+    }
+    return exponent(y);
+  }
+
+  public double pollingExponent() {
+    double[] y = new double[points.size()];
+    for (int i = 0; i < y.length; i++) {
+      y[i] = points.get(i).polling;
+    }
+    return exponent(y);
+  }
+
+  public double maxExponent() {
+    return Math.max(executeExponent(), Math.max(bookkeepingExponent(), pollingExponent()));
+  }
+
+  public void report(PrintStream out) {
+    out.println(String.format(Locale.ROOT, "%10s %10s %14s %14s %14s", "size", "steps", "execute ms", "setExecuted ms", "polling ms"));
+    for (Point point: points) {
+      out.println(String.format(Locale.ROOT, "%10d %10d %14.1f %14.1f %14.1f",
+          point.size, point.steps, point.execute / 1e6, point.bookkeeping / 1e6, point.polling / 1e6));
+    }
+    out.println(exponent("ScenarioImpl.execute()", executeExponent()));
+    out.println(exponent("ProcessRunnerImpl.setExecuted()", bookkeepingExponent()));
+    out.println(exponent("job/wait state polling", pollingExponent()));
+  }
+
+  private String exponent(String name, double exponent) {
+    return String.format(Locale.ROOT, "%-32s exponent %.2f%s", name, exponent, exponent > SUPER_LINEAR ? " (super-linear)" : "");
+  }
+
+  /**
+   * Least squares fit of log(time) over log(size).
+   */
+  private double exponent(double[] times) {
+    int n = times.length;
+    if (n < 2)
+      return Double.NaN;
+    double sx = 0, sy = 0, sxx = 0, sxy = 0;
+    for (int i = 0; i < n; i++) {
+      double x = Math.log(points.get(i).size);
+      double y = Math.log(Math.max(times[i], 1));
+      sx += x;
+      sy += y;
+      sxx += x * x;
+      sxy += x * y;
+    }
+    return (n * sxy - sx * sy) / (n * sxx - sx * sx);
+  }
+
+  public static class Point {
+
+    private int size;
+    private int steps;
+    private long execute;
+    private long bookkeeping;
+    private long polling;
+
+    private Point(int size) {
+      this.size = size;
+    }
+
+  }
+
+}
@@ -0,0 +1,132 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.impl.timeline.TimelineImpl;
+import org.camunda.bpm.scenario.run.ProcessRunner.ExecutableRunner;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scenario engine loop by running a generated {@link Workload}
+ * with {@code Scenario.run(...).startByKey(...).execute()}. Besides the
+ * scenarios executed per second (resp. milliseconds per scenario), the
+ * auxiliary counter "steps" reports scheduler steps per second (resp.
+ * milliseconds per step).
+ *
+ * <pre>
+ * mvn -Pbenchmark clean install
+ * java -jar benchmark/target/benchmarks.jar ScenarioBenchmark -p userTasks=10,100 -p parallelWidth=0,10
+ * java -jar benchmark/target/benchmarks.jar ScenarioBenchmark -p history=none,scenario,audit,full
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ScenarioBenchmark {
+
+  @Param("10")
+  public int userTasks;
+
+  @Param("0")
+  public int parallelWidth;
+
+  @Param("false")
+  public boolean inclusive;
+
+  @Param("0")
+  public int nestedSubprocesses;
+
+  @Param("0")
+  public int multiInstance;
+
+  @Param("0")
+  public int boundaryTimers;
+
+  @Param("0")
+  public int callActivityDepth;
+
+  @Param("0")
+  public int timers;
+
+  @Param("0")
+  public int loopIterations;
+
+  @Param("false")
+  public boolean stable;
+
+  @Param("false")
+  public boolean batched;
+
+  @Param("audit")
+  public String history;
+
+  private ProcessEngine processEngine;
+  private Workload workload;
+
+  @Setup(Level.Trial)
+  public void deploy() {
+    processEngine = Engines.inMemory(history);
+    workload = new Workload()
+        .userTasks(userTasks)
+        .parallelWidth(parallelWidth)
+        .inclusive(inclusive)
+        .nestedSubprocesses(nestedSubprocesses)
+        .multiInstance(multiInstance, false)
+        .boundaryTimers(boundaryTimers)
+        .callActivityDepth(callActivityDepth)
+        .timers(timers)
+        .loopIterations(loopIterations);
+    workload.deploy(processEngine);
+  }
+
+  @TearDown(Level.Trial)
+  public void close() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public Scenario execute(Steps steps) {
+    ExecutableRunner runner = Scenario.run(workload.scenario())
+        .startByKey(workload.getKey(), workload.variables())
+        .engine(processEngine);
+    if (stable)
+      runner = runner.stable();
+    if (batched)
+      runner = runner.batched();
+    Scenario scenario = runner.execute();
+    steps.steps += ((TimelineImpl) scenario.timeline()).steps().size();
+    return scenario;
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Steps {
+
+    public long steps;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      steps = 0;
+    }
+
+  }
+
+}
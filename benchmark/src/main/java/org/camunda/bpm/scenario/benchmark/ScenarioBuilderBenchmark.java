@@ -0,0 +1,113 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.ProcessScenarioBuilder;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares a Mockito mock stubbed per activity id with a scenario built
+ * by the {@link ProcessScenarioBuilder} and with the hand written
+ * {@link WorkloadScenario}, both for creating the scenario and for
+ * creating and running it through a process passing the given number
+ * of user tasks.
+ *
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar ScenarioBuilderBenchmark -p userTasks=1000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ScenarioBuilderBenchmark {
+
+  private static final UserTaskAction COMPLETE = task -> task.complete();
+
+  public enum Kind {
+
+    mockito {
+      ProcessScenario create(int userTasks) {
+        ProcessScenario scenario = mock(ProcessScenario.class);
+        for (int i = 1; i <= userTasks; i++) {
+          when(scenario.waitsAtUserTask("UserTask" + i)).thenReturn(COMPLETE);
+        }
+        return scenario;
+      }
+    },
+
+    builder {
+      ProcessScenario create(int userTasks) {
+        ProcessScenarioBuilder builder = ProcessScenarioBuilder.scenario().callbacks(false);
+        for (int i = 1; i <= userTasks; i++) {
+          builder.waitsAtUserTask("UserTask" + i, COMPLETE);
+        }
+        return builder.build();
+      }
+    },
+
+    handWritten {
+      ProcessScenario create(int userTasks) {
+        return new WorkloadScenario();
+      }
+    };
+
+    abstract ProcessScenario create(int userTasks);
+
+  }
+
+  @Param
+  public Kind kind;
+
+  @Param("1000")
+  public int userTasks;
+
+  private ProcessEngine processEngine;
+  private Workload workload;
+
+  @Setup(Level.Trial)
+  public void deploy() {
+    processEngine = Engines.inMemory();
+    workload = new Workload().key("UserTasks").userTasks(userTasks);
+    workload.deploy(processEngine);
+  }
+
+  @TearDown(Level.Trial)
+  public void close() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public ProcessScenario create() {
+    return kind.create(userTasks);
+  }
+
+  @Benchmark
+  public Scenario createAndExecute() {
+    return Scenario.run(kind.create(userTasks))
+        .startByKey(workload.getKey(), workload.variables())
+        .engine(processEngine)
+        .execute();
+  }
+
+}
@@ -0,0 +1,294 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.model.bpmn.builder.MultiInstanceLoopCharacteristicsBuilder;
+import org.camunda.bpm.model.bpmn.builder.ProcessBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates synthetic BPMN models to benchmark scenarios with. The main
+ * process passes in sequence
+ *
+ * <ul>
+ *   <li>a number of user tasks "UserTask1".."UserTaskN",</li>
+ *   <li>a number of external tasks "External1".."ExternalN" on a common
+ *   topic, alternating between service, send and business rule tasks,</li>
+ *   <li>a parallel (or inclusive) gateway "Fork" with user tasks
+ *   "Parallel1".."ParallelK" joined by "Join",</li>
+ *   <li>embedded subprocesses "SubProcess1".."SubProcessN" nested into each
+ *   other, each one waiting at a user task "SubProcess1Task"..,</li>
+ *   <li>a multi instance user task "MultiInstanceTask" with the given
+ *   cardinality,</li>
+ *   <li>a number of user tasks "Guarded1".."GuardedN" guarded by boundary
+ *   timer events "Guarded1Timeout".. firing after two hours,</li>
+ *   <li>a number of intermediate timer events "Timer1".."TimerN" waiting
+ *   for one hour each,</li>
+ *   <li>a loop passing user task "LoopTask" the given number of times and</li>
+ *   <li>a call activity "CallActivity" calling a hierarchy of the given
+ *   depth, each called process waiting at "UserTask1" before calling the
+ *   next level.</li>
+ * </ul>
+ *
+ * All wait states can be completed by a {@link WorkloadScenario}.
+ */
+public class Workload {
+
+  public static final String LOOP_VARIABLE = "loop";
+
+  private String key = "Workload";
+  private int userTasks;
+  private int externalTasks;
+  private String topic;
+  private int parallelWidth;
+  private boolean inclusive;
+  private int nestedSubprocesses;
+  private int multiInstanceCardinality;
+  private boolean multiInstanceSequential;
+  private int boundaryTimers;
+  private int callActivityDepth;
+  private int timers;
+  private int loopIterations;
+
+  public Workload key(String key) {
+    this.key = key;
+    return this;
+  }
+
+  public Workload userTasks(int userTasks) {
+    this.userTasks = userTasks;
+    return this;
+  }
+
+  public Workload externalTasks(int externalTasks, String topic) {
+    this.externalTasks = externalTasks;
+    this.topic = topic;
+    return this;
+  }
+
+  public Workload parallelWidth(int parallelWidth) {
+    this.parallelWidth = parallelWidth;
+    return this;
+  }
+
+  public Workload inclusive(boolean inclusive) {
+    this.inclusive = inclusive;
+    return this;
+  }
+
+  public Workload nestedSubprocesses(int nestedSubprocesses) {
+    this.nestedSubprocesses = nestedSubprocesses;
+    return this;
+  }
+
+  public Workload multiInstance(int cardinality, boolean sequential) {
+    this.multiInstanceCardinality = cardinality;
+    this.multiInstanceSequential = sequential;
+    return this;
+  }
+
+  public Workload boundaryTimers(int boundaryTimers) {
+    this.boundaryTimers = boundaryTimers;
+    return this;
+  }
+
+  public Workload callActivityDepth(int callActivityDepth) {
+    this.callActivityDepth = callActivityDepth;
+    return this;
+  }
+
+  public Workload timers(int timers) {
+    this.timers = timers;
+    return this;
+  }
+
+  public Workload loopIterations(int loopIterations) {
+    this.loopIterations = loopIterations;
+    return this;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * @return a scenario completing every wait state of the workload
+   */
+  public WorkloadScenario scenario() {
+    return new WorkloadScenario();
+  }
+
+  /**
+   * @return variables the main process must be started with
+   */
+  public Map<String, Object> variables() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put(LOOP_VARIABLE, 0);
+    return variables;
+  }
+
+  /**
+   * @return number of wait states a single run of the workload passes,
+   * not counting the start and end events
+   */
+  public int waitstates() {
+    return userTasks + externalTasks + parallelWidth + nestedSubprocesses + multiInstanceCardinality
+        + boundaryTimers + timers + loopIterations + 2 * callActivityDepth;
+  }
+
+  /**
+   * @return the main process followed by the processes it calls
+   */
+  public List<BpmnModelInstance> models() {
+    List<BpmnModelInstance> models = new ArrayList<BpmnModelInstance>();
+    models.add(main());
+    for (int level = 1; level <= callActivityDepth; level++) {
+      models.add(called(level));
+    }
+    return models;
+  }
+
+  /**
+   * Deploy all models of the workload.
+   *
+   * @return the key of the main process
+   */
+  public String deploy(ProcessEngine processEngine) {
+    DeploymentBuilder deployment = processEngine.getRepositoryService().createDeployment().name(key);
+    List<BpmnModelInstance> models = models();
+    for (int i = 0; i < models.size(); i++) {
+      deployment.addModelInstance(key + "-" + i + ".bpmn", models.get(i));
+    }
+    deployment.deploy();
+    return key;
+  }
+
+  protected BpmnModelInstance main() {
+    AbstractFlowNodeBuilder<?, ?> builder = start(key);
+    builder = userTasks(builder, "UserTask", userTasks);
+    builder = externalTasks(builder);
+    builder = parallel(builder);
+    builder = subProcess(builder, 1);
+    builder = multiInstance(builder);
+    builder = boundaryTimers(builder);
+    builder = timers(builder);
+    builder = loop(builder);
+    builder = call(builder, 1);
+    return builder.endEvent("EndEvent").done();
+  }
+
+  protected BpmnModelInstance called(int level) {
+    AbstractFlowNodeBuilder<?, ?> builder = start(key(level));
+    builder = userTasks(builder, "UserTask", 1);
+    builder = call(builder, level + 1);
+    return builder.endEvent("EndEvent").done();
+  }
+
+  protected String key(int level) {
+    return level == 0 ? key : key + "Level" + level;
+  }
+
+  protected AbstractFlowNodeBuilder<?, ?> start(String processKey) {
+    ProcessBuilder process = Bpmn.createExecutableProcess(processKey);
+    return process.startEvent("StartEvent");
+  }
+
+  protected AbstractFlowNodeBuilder<?, ?> userTasks(AbstractFlowNodeBuilder<?, ?> builder, String prefix, int count) {
+    for (int i = 1; i <= count; i++) {
+      builder = builder.userTask(prefix + i);
+    }
+    return builder;
+  }
+
+  protected AbstractFlowNodeBuilder<?, ?> externalTasks(AbstractFlowNodeBuilder<?, ?> builder) {
+    for (int i = 1; i <= externalTasks; i++) {
+      String id = "External" + i;
+      switch (i % 3) {
+        case 1: builder = builder.serviceTask(id).camundaExternalTask(topic); break;
+        case 2: builder = builder.sendTask(id).camundaType("external").camundaTopic(topic); break;
+        default: builder = builder.businessRuleTask(id).camundaType("external").camundaTopic(topic);
+      }
+    }
+    return builder;
+  }
+
+  protected AbstractFlowNodeBuilder<?, ?> parallel(AbstractFlowNodeBuilder<?, ?> builder) {
+    if (parallelWidth == 0)
+      return builder;
+    if (inclusive) {
+      builder.inclusiveGateway("Fork").condition("Branch1", "${true}").userTask("Parallel1").inclusiveGateway("Join");
+      for (int i = 2; i <= parallelWidth; i++) {
+        builder.moveToNode("Fork").condition("Branch" + i, "${true}").userTask("Parallel" + i).connectTo("Join");
+      }
+    } else {
+      builder.parallelGateway("Fork").userTask("Parallel1").parallelGateway("Join");
+      for (int i = 2; i <= parallelWidth; i++) {
+        builder.moveToNode("Fork").userTask("Parallel" + i).connectTo("Join");
+      }
+    }
+    return builder.moveToNode("Join");
+  }
+
+  protected AbstractFlowNodeBuilder<?, ?> subProcess(AbstractFlowNodeBuilder<?, ?> builder, int level) {
+    if (level > nestedSubprocesses)
+      return builder;
+    String id = "SubProcess" + level;
+    AbstractFlowNodeBuilder<?, ?> inner = builder.subProcess(id).embeddedSubProcess()
+        .startEvent(id + "Start")
+        .userTask(id + "Task");
+    inner = subProcess(inner, level + 1);
+    return inner.endEvent(id + "End").subProcessDone();
+  }
+
+  protected AbstractFlowNodeBuilder<?, ?> multiInstance(AbstractFlowNodeBuilder<?, ?> builder) {
+    if (multiInstanceCardinality == 0)
+      return builder;
+    MultiInstanceLoopCharacteristicsBuilder multiInstance = builder.userTask("MultiInstanceTask").multiInstance()
+        .cardinality(Integer.toString(multiInstanceCardinality));
+    if (multiInstanceSequential)
+      multiInstance.sequential();
+    return multiInstance.multiInstanceDone();
+  }
+
+  protected AbstractFlowNodeBuilder<?, ?> boundaryTimers(AbstractFlowNodeBuilder<?, ?> builder) {
+    for (int i = 1; i <= boundaryTimers; i++) {
+      String id = "Guarded" + i;
+      builder = builder.userTask(id)
+          .boundaryEvent(id + "Timeout").timerWithDuration("PT2H").endEvent(id + "TimedOut")
+          .moveToActivity(id);
+    }
+    return builder;
+  }
+
+  protected AbstractFlowNodeBuilder<?, ?> timers(AbstractFlowNodeBuilder<?, ?> builder) {
+    for (int i = 1; i <= timers; i++) {
+      builder = builder.intermediateCatchEvent("Timer" + i).timerWithDuration("PT1H");
+    }
+    return builder;
+  }
+
+  protected AbstractFlowNodeBuilder<?, ?> loop(AbstractFlowNodeBuilder<?, ?> builder) {
+    if (loopIterations == 0)
+      return builder;
+    builder.userTask("LoopTask")
+        .serviceTask("LoopIncrement").camundaExpression("${execution.setVariable('" + LOOP_VARIABLE + "', " + LOOP_VARIABLE + " + 1)}")
+        .exclusiveGateway("LoopGateway")
+        .condition("Again", "${" + LOOP_VARIABLE + " < " + loopIterations + "}")
+        .connectTo("LoopTask");
+    return builder.moveToNode("LoopGateway").condition("Done", "${" + LOOP_VARIABLE + " >= " + loopIterations + "}");
+  }
+
+  protected AbstractFlowNodeBuilder<?, ?> call(AbstractFlowNodeBuilder<?, ?> builder, int level) {
+    if (level > callActivityDepth)
+      return builder;
+    return builder.callActivity("CallActivity").calledElement(key(level));
+  }
+
+}
@@ -0,0 +1,104 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.BusinessRuleTaskAction;
+import org.camunda.bpm.scenario.act.ConditionalIntermediateEventAction;
+import org.camunda.bpm.scenario.act.EventBasedGatewayAction;
+import org.camunda.bpm.scenario.act.MessageEndEventAction;
+import org.camunda.bpm.scenario.act.MessageIntermediateCatchEventAction;
+import org.camunda.bpm.scenario.act.MessageIntermediateThrowEventAction;
+import org.camunda.bpm.scenario.act.ReceiveTaskAction;
+import org.camunda.bpm.scenario.act.SendTaskAction;
+import org.camunda.bpm.scenario.act.ServiceTaskAction;
+import org.camunda.bpm.scenario.act.SignalIntermediateCatchEventAction;
+import org.camunda.bpm.scenario.act.TimerIntermediateEventAction;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.run.Runner;
+
+/**
+ * Completes every wait state of a {@link Workload} right away, lets
+ * timers pass and runs called processes with a scenario of its own.
+ * External tasks are completed, messages and signals are received and
+ * event based gateways continue with their first event. Conditional
+ * events are left alone, because there is no generic way to satisfy
+ * them. Implemented by hand rather than mocked, so that benchmarks
+ * measure the scenario engine, not the mocking library.
+ */
+public class WorkloadScenario implements ProcessScenario {
+
+  private static final UserTaskAction COMPLETE = task -> task.complete();
+  private static final ReceiveTaskAction RECEIVE = message -> message.receive();
+  private static final SendTaskAction EXTERNAL = externalTask -> externalTask.complete();
+  private static final BusinessRuleTaskAction BUSINESS_RULE = externalTask -> externalTask.complete();
+  private static final MessageIntermediateThrowEventAction THROW = externalTask -> externalTask.complete();
+  private static final MessageEndEventAction END = externalTask -> externalTask.complete();
+  private static final SignalIntermediateCatchEventAction SIGNAL = signal -> signal.receive();
+  private static final EventBasedGatewayAction GATEWAY = gateway -> gateway.getEventSubscriptions().get(0).receive();
+
+  @Override
+  public UserTaskAction waitsAtUserTask(String activityId) {
+    return COMPLETE;
+  }
+
+  @Override
+  public TimerIntermediateEventAction waitsAtTimerIntermediateEvent(String activityId) {
+    return null;
+  }
+
+  @Override
+  public MessageIntermediateCatchEventAction waitsAtMessageIntermediateCatchEvent(String activityId) {
+    return RECEIVE;
+  }
+
+  @Override
+  public ReceiveTaskAction waitsAtReceiveTask(String activityId) {
+    return RECEIVE;
+  }
+
+  @Override
+  public SignalIntermediateCatchEventAction waitsAtSignalIntermediateCatchEvent(String activityId) {
+    return SIGNAL;
+  }
+
+  @Override
+  public Runner runsCallActivity(String activityId) {
+    return Scenario.use(new WorkloadScenario());
+  }
+
+  @Override
+  public EventBasedGatewayAction waitsAtEventBasedGateway(String activityId) {
+    return GATEWAY;
+  }
+
+  @Override
+  public ServiceTaskAction waitsAtServiceTask(String activityId) {
+    return EXTERNAL;
+  }
+
+  @Override
+  public SendTaskAction waitsAtSendTask(String activityId) {
+    return EXTERNAL;
+  }
+
+  @Override
+  public MessageIntermediateThrowEventAction waitsAtMessageIntermediateThrowEvent(String activityId) {
+    return THROW;
+  }
+
+  @Override
+  public MessageEndEventAction waitsAtMessageEndEvent(String activityId) {
+    return END;
+  }
+
+  @Override
+  public BusinessRuleTaskAction waitsAtBusinessRuleTask(String activityId) {
+    return BUSINESS_RULE;
+  }
+
+  @Override
+  public ConditionalIntermediateEventAction waitsAtConditionalIntermediateEvent(String activityId) {
+    return null;
+  }
+
+}
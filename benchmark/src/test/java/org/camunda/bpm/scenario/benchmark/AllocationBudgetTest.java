@@ -0,0 +1,60 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+/**
+ * Checks the bytes allocated per scheduler step against a budget given
+ * with the system property {@value #BUDGET_PROPERTY}, e.g.
+ * {@code mvn -Pbenchmark test -Dallocation.budget=400000}. Skipped in
+ * case no budget is given.
+ */
+public class AllocationBudgetTest {
+
+  public static final String BUDGET_PROPERTY = "allocation.budget";
+
+  private ProcessEngine processEngine;
+
+  @Before
+  public void setup() {
+    assumeTrue(System.getProperty(BUDGET_PROPERTY) != null);
+    assumeTrue(Allocations.isSupported());
+    processEngine = Engines.inMemory();
+  }
+
+  @After
+  public void close() {
+    if (processEngine != null)
+      processEngine.close();
+  }
+
+  @Test
+  public void testSequence() {
+    assertWithinBudget(new Workload().key("Sequence").userTasks(50));
+  }
+
+  @Test
+  public void testParallel() {
+    assertWithinBudget(new Workload().key("Parallel").parallelWidth(50));
+  }
+
+  @Test
+  public void testTimers() {
+    assertWithinBudget(new Workload().key("Timers").timers(50));
+  }
+
+  private void assertWithinBudget(Workload workload) {
+    long budget = Long.getLong(BUDGET_PROPERTY);
+    workload.deploy(processEngine);
+    Allocations.bytesPerStep(processEngine, workload); // warm up
+    double bytesPerStep = Allocations.bytesPerStep(processEngine, workload);
+    assertTrue(String.format("%s allocated %.0f bytes per step, budget is %d", workload.getKey(), bytesPerStep, budget),
+        bytesPerStep <= budget);
+  }
+
+}
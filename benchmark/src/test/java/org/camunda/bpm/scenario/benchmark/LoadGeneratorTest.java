@@ -0,0 +1,54 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.scenario.impl.monitor.ActivityMetrics;
+import org.camunda.bpm.scenario.impl.util.Time;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.*;
+
+public class LoadGeneratorTest {
+
+  private ProcessEngine processEngine;
+
+  @Before
+  public void setup() {
+    processEngine = Engines.inMemory();
+  }
+
+  @After
+  public void close() {
+    processEngine.close();
+  }
+
+  @Test
+  public void testGenerateLoad() throws Exception {
+    Workload workload = new Workload().key("Load").userTasks(3).parallelWidth(2);
+    workload.deploy(processEngine);
+
+    LoadReport report = new LoadGenerator(processEngine)
+        .scenario(workload.scenario())
+        .startByKey(workload.getKey(), workload.variables())
+        .rate(20).threads(4).duration(1)
+        .run();
+
+    assertEquals(0, report.getFailures());
+    assertTrue(report.getInstances() >= 10);
+    assertTrue(report.getThroughput() > 0);
+    assertEquals(report.getInstances(), report.getActivityLatencies().get("UserTask1").count());
+    assertEquals(report.getInstances(), report.getMetrics().get("Parallel2", ActivityMetrics.Kind.Action).count());
+    assertEquals(report.getInstances(), processEngine.getHistoryService()
+        .createHistoricProcessInstanceQuery().processDefinitionKey("Load").finished().count());
+    assertFalse(Time.isWallClock());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    report.print(new PrintStream(out));
+    assertTrue(out.toString().contains("UserTask1"));
+  }
+
+}
@@ -0,0 +1,103 @@
+package org.camunda.bpm.scenario.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.timeline.Timeline;
+import org.camunda.bpm.scenario.timeline.TimelineEntry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WorkloadTest {
+
+  private static final List<String> WAITSTATES = Arrays.asList("userTask", "serviceTask", "sendTask", "businessRuleTask", "intermediateTimer", "callActivity");
+
+  private ProcessEngine processEngine;
+
+  @Before
+  public void setup() {
+    processEngine = Engines.inMemory();
+  }
+
+  @After
+  public void close() {
+    processEngine.close();
+  }
+
+  @Test
+  public void testSequence() {
+    assertCompleted(new Workload().key("Sequence").userTasks(5));
+  }
+
+  @Test
+  public void testExternalTasks() {
+    assertCompleted(new Workload().key("External").externalTasks(6, "topic"));
+  }
+
+  @Test
+  public void testParallel() {
+    assertCompleted(new Workload().key("Parallel").parallelWidth(4));
+  }
+
+  @Test
+  public void testInclusive() {
+    assertCompleted(new Workload().key("Inclusive").parallelWidth(4).inclusive(true));
+  }
+
+  @Test
+  public void testNestedSubprocesses() {
+    assertCompleted(new Workload().key("Nested").nestedSubprocesses(3));
+  }
+
+  @Test
+  public void testMultiInstance() {
+    assertCompleted(new Workload().key("ParallelMultiInstance").multiInstance(3, false));
+    assertCompleted(new Workload().key("SequentialMultiInstance").multiInstance(3, true));
+  }
+
+  @Test
+  public void testBoundaryTimers() {
+    assertCompleted(new Workload().key("Boundary").boundaryTimers(3));
+  }
+
+  @Test
+  public void testTimersAndLoop() {
+    assertCompleted(new Workload().key("TimersAndLoop").timers(2).loopIterations(3));
+  }
+
+  @Test
+  public void testCallActivityHierarchy() {
+    assertCompleted(new Workload().key("Hierarchy").callActivityDepth(3));
+  }
+
+  @Test
+  public void testEverything() {
+    assertCompleted(new Workload().key("Everything")
+        .userTasks(3).externalTasks(3, "topic").parallelWidth(3).inclusive(true).nestedSubprocesses(2)
+        .multiInstance(2, false).boundaryTimers(2).timers(2).loopIterations(2).callActivityDepth(2));
+  }
+
+  private void assertCompleted(Workload workload) {
+    workload.deploy(processEngine);
+    Scenario scenario = Scenario.run(workload.scenario())
+        .startByKey(workload.getKey(), workload.variables())
+        .engine(processEngine)
+        .execute();
+    Timeline timeline = scenario.timeline();
+    int waitstates = 0;
+    for (TimelineEntry entry: timeline.entries()) {
+      assertTrue(entry.getActivityId(), entry.isFinished());
+      assertFalse(entry.getActivityId(), entry.isCanceled());
+      if (WAITSTATES.contains(entry.getActivityType()))
+        waitstates++;
+    }
+    assertEquals(workload.waitstates(), waitstates);
+    assertTrue(timeline.hasFinished("EndEvent"));
+  }
+
+}
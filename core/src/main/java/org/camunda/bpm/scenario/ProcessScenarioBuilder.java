@@ -0,0 +1,322 @@
+package org.camunda.bpm.scenario;
+
+import org.camunda.bpm.scenario.act.BusinessRuleTaskAction;
+import org.camunda.bpm.scenario.act.ConditionalIntermediateEventAction;
+import org.camunda.bpm.scenario.act.EventBasedGatewayAction;
+import org.camunda.bpm.scenario.act.MessageEndEventAction;
+import org.camunda.bpm.scenario.act.MessageIntermediateCatchEventAction;
+import org.camunda.bpm.scenario.act.MessageIntermediateThrowEventAction;
+import org.camunda.bpm.scenario.act.ReceiveTaskAction;
+import org.camunda.bpm.scenario.act.SendTaskAction;
+import org.camunda.bpm.scenario.act.ServiceTaskAction;
+import org.camunda.bpm.scenario.act.SignalIntermediateCatchEventAction;
+import org.camunda.bpm.scenario.act.TimerIntermediateEventAction;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.run.Runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a {@link ProcessScenario} without the need for a mocking
+ * library: actions are registered per activity id and looked up from
+ * plain hash maps during the scenario run. Callbacks for started,
+ * finished, completed and canceled activities can be registered, too,
+ * or switched off entirely.
+ *
+ * <pre>
+ * ProcessScenario scenario = ProcessScenarioBuilder.scenario()
+ *   .waitsAtUserTask("UserTask", new UserTaskAction() { ... })
+ *   .runsCallActivity("CallActivity", calledScenario)
+ *   .hasCompleted("EndEvent", new Runnable() { ... })
+ *   .build();
+ * </pre>
+ *
+ * A scenario built that way is stable: it always delivers the same
+ * action for the same activity id.
+ */
+public class ProcessScenarioBuilder {
+
+  private Map<String, UserTaskAction> userTasks = new HashMap<String, UserTaskAction>();
+  private Map<String, TimerIntermediateEventAction> timerIntermediateEvents = new HashMap<String, TimerIntermediateEventAction>();
+  private Map<String, MessageIntermediateCatchEventAction> messageIntermediateCatchEvents = new HashMap<String, MessageIntermediateCatchEventAction>();
+  private Map<String, ReceiveTaskAction> receiveTasks = new HashMap<String, ReceiveTaskAction>();
+  private Map<String, SignalIntermediateCatchEventAction> signalIntermediateCatchEvents = new HashMap<String, SignalIntermediateCatchEventAction>();
+  private Map<String, ProcessScenario> callActivities = new HashMap<String, ProcessScenario>();
+  private Map<String, EventBasedGatewayAction> eventBasedGateways = new HashMap<String, EventBasedGatewayAction>();
+  private Map<String, ServiceTaskAction> serviceTasks = new HashMap<String, ServiceTaskAction>();
+  private Map<String, SendTaskAction> sendTasks = new HashMap<String, SendTaskAction>();
+  private Map<String, MessageIntermediateThrowEventAction> messageIntermediateThrowEvents = new HashMap<String, MessageIntermediateThrowEventAction>();
+  private Map<String, MessageEndEventAction> messageEndEvents = new HashMap<String, MessageEndEventAction>();
+  private Map<String, BusinessRuleTaskAction> businessRuleTasks = new HashMap<String, BusinessRuleTaskAction>();
+  private Map<String, ConditionalIntermediateEventAction> conditionalIntermediateEvents = new HashMap<String, ConditionalIntermediateEventAction>();
+
+  private Map<String, List<java.lang.Runnable>> started = new HashMap<String, List<java.lang.Runnable>>();
+  private Map<String, List<java.lang.Runnable>> finished = new HashMap<String, List<java.lang.Runnable>>();
+  private Map<String, List<java.lang.Runnable>> completed = new HashMap<String, List<java.lang.Runnable>>();
+  private Map<String, List<java.lang.Runnable>> canceled = new HashMap<String, List<java.lang.Runnable>>();
+  private boolean callbacks = true;
+
+  public static ProcessScenarioBuilder scenario() {
+    return new ProcessScenarioBuilder();
+  }
+
+  public ProcessScenarioBuilder waitsAtUserTask(String activityId, UserTaskAction action) {
+    userTasks.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtTimerIntermediateEvent(String activityId, TimerIntermediateEventAction action) {
+    timerIntermediateEvents.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtMessageIntermediateCatchEvent(String activityId, MessageIntermediateCatchEventAction action) {
+    messageIntermediateCatchEvents.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtReceiveTask(String activityId, ReceiveTaskAction action) {
+    receiveTasks.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtSignalIntermediateCatchEvent(String activityId, SignalIntermediateCatchEventAction action) {
+    signalIntermediateCatchEvents.put(activityId, action);
+    return this;
+  }
+
+  /**
+   * Run every process instance called by the call activity with the
+   * activity id provided by means of the scenario provided.
+   */
+  public ProcessScenarioBuilder runsCallActivity(String activityId, ProcessScenario scenario) {
+    callActivities.put(activityId, scenario);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtEventBasedGateway(String activityId, EventBasedGatewayAction action) {
+    eventBasedGateways.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtServiceTask(String activityId, ServiceTaskAction action) {
+    serviceTasks.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtSendTask(String activityId, SendTaskAction action) {
+    sendTasks.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtMessageIntermediateThrowEvent(String activityId, MessageIntermediateThrowEventAction action) {
+    messageIntermediateThrowEvents.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtMessageEndEvent(String activityId, MessageEndEventAction action) {
+    messageEndEvents.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtBusinessRuleTask(String activityId, BusinessRuleTaskAction action) {
+    businessRuleTasks.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder waitsAtConditionalIntermediateEvent(String activityId, ConditionalIntermediateEventAction action) {
+    conditionalIntermediateEvents.put(activityId, action);
+    return this;
+  }
+
+  public ProcessScenarioBuilder hasStarted(String activityId, java.lang.Runnable callback) {
+    return callback(started, activityId, callback);
+  }
+
+  public ProcessScenarioBuilder hasFinished(String activityId, java.lang.Runnable callback) {
+    return callback(finished, activityId, callback);
+  }
+
+  public ProcessScenarioBuilder hasCompleted(String activityId, java.lang.Runnable callback) {
+    return callback(completed, activityId, callback);
+  }
+
+  public ProcessScenarioBuilder hasCanceled(String activityId, java.lang.Runnable callback) {
+    return callback(canceled, activityId, callback);
+  }
+
+  /**
+   * Switch the callbacks for started, finished, completed and canceled
+   * activities on or off. Switched off, the scenario built does not
+   * even look them up.
+   */
+  public ProcessScenarioBuilder callbacks(boolean callbacks) {
+    this.callbacks = callbacks;
+    return this;
+  }
+
+  public ProcessScenario build() {
+    return new BuiltProcessScenario(this);
+  }
+
+  private ProcessScenarioBuilder callback(Map<String, List<java.lang.Runnable>> callbacks, String activityId, java.lang.Runnable callback) {
+    List<java.lang.Runnable> list = callbacks.get(activityId);
+    if (list == null)
+      callbacks.put(activityId, list = new ArrayList<java.lang.Runnable>());
+    list.add(callback);
+    return this;
+  }
+
+  private static class BuiltProcessScenario implements ProcessScenario {
+
+    private final Map<String, UserTaskAction> userTasks;
+    private final Map<String, TimerIntermediateEventAction> timerIntermediateEvents;
+    private final Map<String, MessageIntermediateCatchEventAction> messageIntermediateCatchEvents;
+    private final Map<String, ReceiveTaskAction> receiveTasks;
+    private final Map<String, SignalIntermediateCatchEventAction> signalIntermediateCatchEvents;
+    private final Map<String, ProcessScenario> callActivities;
+    private final Map<String, EventBasedGatewayAction> eventBasedGateways;
+    private final Map<String, ServiceTaskAction> serviceTasks;
+    private final Map<String, SendTaskAction> sendTasks;
+    private final Map<String, MessageIntermediateThrowEventAction> messageIntermediateThrowEvents;
+    private final Map<String, MessageEndEventAction> messageEndEvents;
+    private final Map<String, BusinessRuleTaskAction> businessRuleTasks;
+    private final Map<String, ConditionalIntermediateEventAction> conditionalIntermediateEvents;
+    private final Map<String, List<java.lang.Runnable>> started;
+    private final Map<String, List<java.lang.Runnable>> finished;
+    private final Map<String, List<java.lang.Runnable>> completed;
+    private final Map<String, List<java.lang.Runnable>> canceled;
+    private final boolean callbacks;
+
+    private BuiltProcessScenario(ProcessScenarioBuilder builder) {
+      userTasks = new HashMap<String, UserTaskAction>(builder.userTasks);
+      timerIntermediateEvents = new HashMap<String, TimerIntermediateEventAction>(builder.timerIntermediateEvents);
+      messageIntermediateCatchEvents = new HashMap<String, MessageIntermediateCatchEventAction>(builder.messageIntermediateCatchEvents);
+      receiveTasks = new HashMap<String, ReceiveTaskAction>(builder.receiveTasks);
+      signalIntermediateCatchEvents = new HashMap<String, SignalIntermediateCatchEventAction>(builder.signalIntermediateCatchEvents);
+      callActivities = new HashMap<String, ProcessScenario>(builder.callActivities);
+      eventBasedGateways = new HashMap<String, EventBasedGatewayAction>(builder.eventBasedGateways);
+      serviceTasks = new HashMap<String, ServiceTaskAction>(builder.serviceTasks);
+      sendTasks = new HashMap<String, SendTaskAction>(builder.sendTasks);
+      messageIntermediateThrowEvents = new HashMap<String, MessageIntermediateThrowEventAction>(builder.messageIntermediateThrowEvents);
+      messageEndEvents = new HashMap<String, MessageEndEventAction>(builder.messageEndEvents);
+      businessRuleTasks = new HashMap<String, BusinessRuleTaskAction>(builder.businessRuleTasks);
+      conditionalIntermediateEvents = new HashMap<String, ConditionalIntermediateEventAction>(builder.conditionalIntermediateEvents);
+      started = copy(builder.started);
+      finished = copy(builder.finished);
+      completed = copy(builder.completed);
+      canceled = copy(builder.canceled);
+      callbacks = builder.callbacks;
+    }
+
+    @Override
+    public UserTaskAction waitsAtUserTask(String activityId) {
+      return userTasks.get(activityId);
+    }
+
+    @Override
+    public TimerIntermediateEventAction waitsAtTimerIntermediateEvent(String activityId) {
+      return timerIntermediateEvents.get(activityId);
+    }
+
+    @Override
+    public MessageIntermediateCatchEventAction waitsAtMessageIntermediateCatchEvent(String activityId) {
+      return messageIntermediateCatchEvents.get(activityId);
+    }
+
+    @Override
+    public ReceiveTaskAction waitsAtReceiveTask(String activityId) {
+      return receiveTasks.get(activityId);
+    }
+
+    @Override
+    public SignalIntermediateCatchEventAction waitsAtSignalIntermediateCatchEvent(String activityId) {
+      return signalIntermediateCatchEvents.get(activityId);
+    }
+
+    @Override
+    public Runner runsCallActivity(String activityId) {
+      ProcessScenario scenario = callActivities.get(activityId);
+      return scenario != null ? Scenario.use(scenario) : null;
+    }
+
+    @Override
+    public EventBasedGatewayAction waitsAtEventBasedGateway(String activityId) {
+      return eventBasedGateways.get(activityId);
+    }
+
+    @Override
+    public ServiceTaskAction waitsAtServiceTask(String activityId) {
+      return serviceTasks.get(activityId);
+    }
+
+    @Override
+    public SendTaskAction waitsAtSendTask(String activityId) {
+      return sendTasks.get(activityId);
+    }
+
+    @Override
+    public MessageIntermediateThrowEventAction waitsAtMessageIntermediateThrowEvent(String activityId) {
+      return messageIntermediateThrowEvents.get(activityId);
+    }
+
+    @Override
+    public MessageEndEventAction waitsAtMessageEndEvent(String activityId) {
+      return messageEndEvents.get(activityId);
+    }
+
+    @Override
+    public BusinessRuleTaskAction waitsAtBusinessRuleTask(String activityId) {
+      return businessRuleTasks.get(activityId);
+    }
+
+    @Override
+    public ConditionalIntermediateEventAction waitsAtConditionalIntermediateEvent(String activityId) {
+      return conditionalIntermediateEvents.get(activityId);
+    }
+
+    @Override
+    public void hasStarted(String activityId) {
+      run(started, activityId);
+    }
+
+    @Override
+    public void hasFinished(String activityId) {
+      run(finished, activityId);
+    }
+
+    @Override
+    public void hasCompleted(String activityId) {
+      run(completed, activityId);
+    }
+
+    @Override
+    public void hasCanceled(String activityId) {
+      run(canceled, activityId);
+    }
+
+    private void run(Map<String, List<java.lang.Runnable>> callbacks, String activityId) {
+      if (this.callbacks && !callbacks.isEmpty()) {
+        List<java.lang.Runnable> list = callbacks.get(activityId);
+        if (list != null) {
+          for (java.lang.Runnable callback: list) {
+            callback.run();
+          }
+        }
+      }
+    }
+
+    private static Map<String, List<java.lang.Runnable>> copy(Map<String, List<java.lang.Runnable>> callbacks) {
+      Map<String, List<java.lang.Runnable>> copy = new HashMap<String, List<java.lang.Runnable>>();
+      for (Map.Entry<String, List<java.lang.Runnable>> entry: callbacks.entrySet()) {
+        copy.put(entry.getKey(), new ArrayList<java.lang.Runnable>(entry.getValue()));
+      }
+      return copy;
+    }
+
+  }
+
+}
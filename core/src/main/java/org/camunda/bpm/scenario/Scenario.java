@@ -5,13 +5,15 @@ import org.camunda.bpm.scenario.impl.ProcessRunnerImpl;
 import org.camunda.bpm.scenario.impl.ScenarioImpl;
 import org.camunda.bpm.scenario.run.ProcessRunner;
 import org.camunda.bpm.scenario.run.ProcessRunner.StartableRunner;
+import org.camunda.bpm.scenario.timeline.Timeline;
 
+import java.io.Closeable;
 import java.util.List;
 
 /**
  * @author <a href="martin.schimak@plexiti.com">Martin Schimak</a>
  */
-public abstract class Scenario {
+public abstract class Scenario implements Closeable {
 
   /**
    * Run a new process instance by means of the scenario interface
@@ -58,4 +60,23 @@ public abstract class Scenario {
    */
   public abstract List<ProcessInstance> instances(ProcessScenario scenario);
 
+  /**
+   * Retrieve the timeline of activity instances started and finished
+   * during the scenario run. The timeline is kept in memory and, for
+   * very long runs, in memory-mapped temporary files, so consulting
+   * it does not require any queries against the history of the
+   * process engine.
+   *
+   * @return the timeline of the scenario run.
+   */
+  public abstract Timeline timeline();
+
+  /**
+   * Release the resources held by the scenario run, e.g. the temporary
+   * files its timeline was spilled to. The timeline must not be
+   * consulted afterwards.
+   */
+  @Override
+  public abstract void close();
+
 }
@@ -3,7 +3,7 @@ package org.camunda.bpm.scenario.delegate;
 /**
  * @author <a href="martin.schimak@plexiti.com">Martin Schimak</a>
  */
-public interface ProcessInstanceAwareDelegate {
+public interface ProcessInstanceAwareDelegate extends VariablesAwareDelegate {
 
   /**
    * Get the process instance this object is associated to.
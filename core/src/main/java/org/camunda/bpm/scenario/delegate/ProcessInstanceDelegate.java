@@ -6,6 +6,6 @@ import org.camunda.bpm.scenario.defer.Deferrable;
 /**
  * @author <a href="martin.schimak@plexiti.com">Martin Schimak</a>
  */
-public interface ProcessInstanceDelegate extends ProcessInstance, Deferrable {
+public interface ProcessInstanceDelegate extends ProcessInstance, Deferrable, VariablesAwareDelegate {
 
 }
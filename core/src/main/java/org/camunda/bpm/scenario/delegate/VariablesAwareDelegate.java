@@ -0,0 +1,29 @@
+package org.camunda.bpm.scenario.delegate;
+
+import java.util.Map;
+
+public interface VariablesAwareDelegate {
+
+  /**
+   * Get all variables visible from the execution this object is
+   * associated to. They are fetched with a single engine call when
+   * first asked for and then cached for the duration of the action
+   * currently executed. Changes of variables must still be made
+   * through the engine (e.g. by completing a task with variables)
+   * and are not reflected by the snapshot delivered.
+   *
+   * @return unmodifiable snapshot of the variables visible
+   */
+  Map<String, Object> getVariables();
+
+  /**
+   * Get a variable visible from the execution this object is
+   * associated to from the snapshot delivered by
+   * {@link #getVariables()}.
+   *
+   * @param name of the variable
+   * @return value of the variable or null
+   */
+  Object getVariable(String name);
+
+}
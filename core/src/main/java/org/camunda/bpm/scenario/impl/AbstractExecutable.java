@@ -1,7 +1,6 @@
 package org.camunda.bpm.scenario.impl;
 
 import org.camunda.bpm.scenario.impl.delegate.AbstractProcessEngineServicesDelegate;
-import org.camunda.bpm.scenario.impl.util.IdComparator;
 
 import java.util.Date;
 
@@ -10,10 +9,9 @@ import java.util.Date;
  */
 public abstract class AbstractExecutable<I> extends AbstractProcessEngineServicesDelegate implements Executable<AbstractExecutable> {
 
-  protected static IdComparator idComparator = new IdComparator();
-
   protected ProcessRunnerImpl runner;
   protected I delegate;
+  private boolean resolved;
 
   protected AbstractExecutable(ProcessRunnerImpl runner) {
     super(runner.scenarioExecutor.processEngine);
@@ -24,8 +22,32 @@ public abstract class AbstractExecutable<I> extends AbstractProcessEngineService
 
   protected abstract I getDelegate();
 
+  /**
+   * @return the delegate, queried with getDelegate() just once per step
+   * (resp. again after an engine command invalidated it)
+   */
+  protected I resolve() {
+    if (!resolved) {
+      delegate = getDelegate();
+      resolved = true;
+    }
+    return delegate;
+  }
+
+  /**
+   * Invalidate the delegate, e.g. because an engine command changed it
+   * or because it is used again in a later step.
+   */
+  protected void invalidate() {
+    resolved = false;
+  }
+
   protected abstract Date isExecutableAt();
 
+  abstract String traceType();
+
+  abstract String traceName();
+
   @Override
   public int compareTo(AbstractExecutable other) {
     assert other != null;
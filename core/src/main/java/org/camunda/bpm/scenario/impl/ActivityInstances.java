@@ -0,0 +1,226 @@
+package org.camunda.bpm.scenario.impl;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.camunda.bpm.engine.runtime.ActivityInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.scenario.impl.util.Api;
+import org.camunda.bpm.scenario.impl.util.Time;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The source of the activity instances of the process instance run by a
+ * process runner: the unfinished ones making up its frontier and all of
+ * them for the bookkeeping of started and finished activities. Reads the
+ * history by default, and the runtime activity instance tree in case the
+ * process engine runs with history level "none".
+ */
+public abstract class ActivityInstances {
+
+  private static final String HISTORY_LEVEL = "org.camunda.bpm.engine.impl.history.HistoryLevel";
+
+  protected ProcessRunnerImpl runner;
+
+  protected ActivityInstances(ProcessRunnerImpl runner) {
+    this.runner = runner;
+  }
+
+  static ActivityInstances newInstance(ProcessRunnerImpl runner) {
+    ProcessEngine processEngine = runner.scenarioExecutor.processEngine;
+    ProcessEngineConfigurationImpl configuration = ((ProcessEngineImpl) processEngine).getProcessEngineConfiguration();
+    return isHistoryLevelNone(configuration) ? new RuntimeTree(runner) : new Historic(runner);
+  }
+
+  /**
+   * @return true in case the engine runs without history, judged by the
+   * resolved history level (which e.g. also resolves history "auto")
+   * where supported and by the configured history otherwise
+   */
+  private static boolean isHistoryLevelNone(ProcessEngineConfigurationImpl configuration) {
+    if (Api.feature(HISTORY_LEVEL).isSupported()) {
+      HistoryLevel historyLevel = configuration.getHistoryLevel();
+      if (historyLevel != null)
+        return historyLevel.getId() == HistoryLevel.HISTORY_LEVEL_NONE.getId();
+    }
+    return ProcessEngineConfiguration.HISTORY_NONE.equals(configuration.getHistory());
+  }
+
+  /**
+   * @return the unfinished activity instances of the process instance
+   */
+  public abstract List<HistoricActivityInstance> unfinished();
+
+  /**
+   * @return all activity instances of the process instance, finished
+   * or not
+   */
+  public abstract List<HistoricActivityInstance> all();
+
+  /**
+   * @return true in case the end of an activity instance tells whether
+   * it was completed or canceled
+   */
+  public abstract boolean isCancellationKnown();
+
+  static class Historic extends ActivityInstances {
+
+    Historic(ProcessRunnerImpl runner) {
+      super(runner);
+    }
+
+    @Override
+    public List<HistoricActivityInstance> unfinished() {
+      return runner.scenarioExecutor.processEngine.getHistoryService()
+          .createHistoricActivityInstanceQuery()
+          .processInstanceId(runner.processInstance.getId()).unfinished().list();
+    }
+
+    @Override
+    public List<HistoricActivityInstance> all() {
+      return runner.scenarioExecutor.processEngine.getHistoryService()
+          .createHistoricActivityInstanceQuery()
+          .processInstanceId(runner.processInstance.getId()).list();
+    }
+
+    @Override
+    public boolean isCancellationKnown() {
+      return true;
+    }
+
+  }
+
+  /**
+   * Derives the activity instances from the runtime activity instance
+   * tree, which does not need any history. As the tree just shows the
+   * activity instances currently waiting, an activity instance is taken
+   * to be started when first seen and to be finished when not seen any
+   * more, both at the current scenario time. Whether it was completed or
+   * canceled remains unknown. Activities passed within a single engine
+   * transaction (e.g. start and end events, gateways) are never seen and
+   * therefore not reported as started or finished. The tree is read at
+   * most once per change of the scenario's process instances, e.g. not
+   * again for the polling following the bookkeeping of a step.
+   */
+  static class RuntimeTree extends ActivityInstances {
+
+    private Map<String, HistoricActivityInstanceEntity> instances = new LinkedHashMap<String, HistoricActivityInstanceEntity>();
+    private long refreshed = -1;
+
+    RuntimeTree(ProcessRunnerImpl runner) {
+      super(runner);
+      Api.feature(ActivityInstance.class.getName(), "getActivityType")
+          .fail("Outdated Camunda BPM version used will not allow to run " +
+              "scenarios with history level 'none'");
+    }
+
+    @Override
+    public List<HistoricActivityInstance> unfinished() {
+      refresh();
+      List<HistoricActivityInstance> unfinished = new ArrayList<HistoricActivityInstance>();
+      for (HistoricActivityInstanceEntity instance: instances.values()) {
+        if (instance.getEndTime() == null)
+          unfinished.add(instance);
+      }
+      return unfinished;
+    }
+
+    @Override
+    public List<HistoricActivityInstance> all() {
+      refresh();
+      return new ArrayList<HistoricActivityInstance>(instances.values());
+    }
+
+    @Override
+    public boolean isCancellationKnown() {
+      return false;
+    }
+
+    private void refresh() {
+      if (refreshed == runner.scenarioExecutor.changes)
+        return;
+      refreshed = runner.scenarioExecutor.changes;
+      String processInstanceId = runner.processInstance.getId();
+      ActivityInstance root = runner.scenarioExecutor.processEngine.getRuntimeService().getActivityInstance(processInstanceId);
+      Set<String> current = new HashSet<String>();
+      if (root != null) {
+        Map<String, String> calledProcessInstanceIds = null;
+        List<ActivityInstance> children = new ArrayList<ActivityInstance>();
+        collect(root, children);
+        for (ActivityInstance child: children) {
+          HistoricActivityInstanceEntity instance = instances.get(child.getId());
+          if (instance == null) {
+            if (calledProcessInstanceIds == null && "callActivity".equals(child.getActivityType()))
+              calledProcessInstanceIds = calledProcessInstanceIds(processInstanceId);
+            instance = newInstance(child, calledProcessInstanceIds);
+            instances.put(child.getId(), instance);
+          }
+          current.add(child.getId());
+        }
+      }
+      for (HistoricActivityInstanceEntity instance: instances.values()) {
+        if (instance.getEndTime() == null && !current.contains(instance.getId()))
+          instance.setEndTime(Time.get());
+      }
+    }
+
+    private void collect(ActivityInstance parent, List<ActivityInstance> children) {
+      for (ActivityInstance child: parent.getChildActivityInstances()) {
+        children.add(child);
+        collect(child, children);
+      }
+    }
+
+    /**
+     * @return the ids of the process instances called by the given one,
+     * mapped by the ids of the calling executions
+     */
+    private Map<String, String> calledProcessInstanceIds(String processInstanceId) {
+      Map<String, String> ids = new HashMap<String, String>();
+      List<ProcessInstance> called = runner.scenarioExecutor.processEngine.getRuntimeService()
+          .createProcessInstanceQuery().superProcessInstanceId(processInstanceId).list();
+      for (ProcessInstance processInstance: called) {
+        ids.put(((ExecutionEntity) processInstance).getSuperExecutionId(), processInstance.getId());
+      }
+      return ids;
+    }
+
+    private HistoricActivityInstanceEntity newInstance(ActivityInstance activityInstance, Map<String, String> calledProcessInstanceIds) {
+      HistoricActivityInstanceEntity instance = new HistoricActivityInstanceEntity();
+      String[] executionIds = activityInstance.getExecutionIds();
+      String executionId = executionIds != null && executionIds.length > 0 ? executionIds[0] : null;
+      instance.setId(activityInstance.getId());
+      instance.setActivityInstanceId(activityInstance.getId());
+      instance.setParentActivityInstanceId(activityInstance.getParentActivityInstanceId());
+      instance.setActivityId(activityInstance.getActivityId());
+      instance.setActivityName(activityInstance.getActivityName());
+      instance.setActivityType(activityInstance.getActivityType());
+      instance.setProcessInstanceId(activityInstance.getProcessInstanceId());
+      instance.setProcessDefinitionId(activityInstance.getProcessDefinitionId());
+      instance.setProcessDefinitionKey(runner.getProcessDefinitionKey());
+      instance.setExecutionId(executionId);
+      instance.setStartTime(Time.get());
+      if (calledProcessInstanceIds != null && executionIds != null) {
+        for (String id: executionIds) {
+          if (calledProcessInstanceIds.containsKey(id))
+            instance.setCalledProcessInstanceId(calledProcessInstanceIds.get(id));
+        }
+      }
+      return instance;
+    }
+
+  }
+
+}
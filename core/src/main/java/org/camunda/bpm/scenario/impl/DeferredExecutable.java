@@ -6,19 +6,23 @@ import org.camunda.bpm.scenario.impl.util.Log;
 import org.camunda.bpm.scenario.impl.util.Time;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author <a href="martin.schimak@plexiti.com">Martin Schimak</a>
  */
 public class DeferredExecutable extends AbstractExecutable<HistoricActivityInstance> {
 
-  private static int sequence;
-  private Integer id = ++sequence;
+  private static AtomicInteger sequence = new AtomicInteger();
+  private Integer id = sequence.incrementAndGet();
   private Date isExecutableAt;
   private Deferred action;
+  private WaitstateExecutable waitstate;
 
-  protected DeferredExecutable(ProcessRunnerImpl runner, HistoricActivityInstance instance, String period, Deferred action) {
-    super(runner);
+  protected DeferredExecutable(WaitstateExecutable waitstate, String period, Deferred action) {
+    super(waitstate.runner);
+    HistoricActivityInstance instance = waitstate.historicDelegate;
+    this.waitstate = waitstate;
     this.delegate = instance;
     this.isExecutableAt = Time.dateAfter(period);
     this.action = action;
@@ -41,7 +45,17 @@ public class DeferredExecutable extends AbstractExecutable<HistoricActivityInsta
 
   @Override
   protected HistoricActivityInstance getDelegate() {
-    return getHistoryService().createHistoricActivityInstanceQuery().activityInstanceId(delegate.getId()).unfinished().singleResult();
+    // never resolved, see isUnfinished()
+    return delegate;
+  }
+
+  /**
+   * @return true in case the activity instance deferred is still
+   * unfinished. Known from polling the runner's unfinished activity
+   * instances for the current step, so no need to query it again.
+   */
+  protected boolean isUnfinished() {
+    return runner.isUnfinished(delegate);
   }
 
   @Override
@@ -51,7 +65,7 @@ public class DeferredExecutable extends AbstractExecutable<HistoricActivityInsta
 
   @Override
   public void execute() {
-    if (getDelegate() != null) {
+    if (isUnfinished()) {
       Time.set(isExecutableAt());
       try {
         Log.Action.Executing_Action.log(
@@ -63,14 +77,31 @@ public class DeferredExecutable extends AbstractExecutable<HistoricActivityInsta
             action.toString(),
             isExecutableAt
         );
+        runner.acting(delegate);
+        // the waitstate was resolved in an earlier step
+        waitstate.invalidate();
+        waitstate.forgetVariables();
         action.execute();
+        runner.acted(delegate);
       } catch (Exception e) {
         throw new RuntimeException(e);
+      } finally {
+        waitstate.forgetVariables();
       }
     }
     Deferreds.remove(this);
   }
 
+  @Override
+  String traceType() {
+    return "deferred";
+  }
+
+  @Override
+  String traceName() {
+    return delegate.getActivityId();
+  }
+
   @Override
   public int compareTo(AbstractExecutable other) {
     int compare = super.compareTo(other);
@@ -0,0 +1,71 @@
+package org.camunda.bpm.scenario.impl;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.scenario.impl.util.Api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches process definitions and their BPMN model instances by process
+ * definition id for the runners and executables of a scenario, so that
+ * e.g. logging a job does not need to query the repository every time.
+ * Definition ids are unique per deployment: redeploying a process leads
+ * to a new id and therefore never to a stale cache entry.
+ */
+public class Definitions {
+
+  // resolved once, as the engine classes in the classpath do not change
+  private static final boolean MODELS_SUPPORTED = Api.feature(RepositoryService.class.getName(),
+      "getBpmnModelInstance", String.class).isSupported();
+
+  private ScenarioImpl scenarioExecutor;
+  private Map<String, ProcessDefinition> definitions = new HashMap<String, ProcessDefinition>();
+  private Map<String, BpmnModelInstance> models = new HashMap<String, BpmnModelInstance>();
+  private Map<String, ProcessAnalysis> analyses = new HashMap<String, ProcessAnalysis>();
+
+  Definitions(ScenarioImpl scenarioExecutor) {
+    this.scenarioExecutor = scenarioExecutor;
+  }
+
+  public ProcessDefinition get(String processDefinitionId) {
+    ProcessDefinition definition = definitions.get(processDefinitionId);
+    if (definition == null) {
+      definition = scenarioExecutor.processEngine.getRepositoryService().createProcessDefinitionQuery()
+          .processDefinitionId(processDefinitionId).singleResult();
+      definitions.put(processDefinitionId, definition);
+    }
+    return definition;
+  }
+
+  public String key(String processDefinitionId) {
+    return get(processDefinitionId).getKey();
+  }
+
+  public BpmnModelInstance model(String processDefinitionId) {
+    BpmnModelInstance model = models.get(processDefinitionId);
+    if (model == null) {
+      model = scenarioExecutor.processEngine.getRepositoryService().getBpmnModelInstance(processDefinitionId);
+      models.put(processDefinitionId, model);
+    }
+    return model;
+  }
+
+  /**
+   * @return the static analysis of the process definition's BPMN model
+   * or null in case the engine version used does not provide models
+   */
+  public ProcessAnalysis analysis(String processDefinitionId) {
+    if (!MODELS_SUPPORTED)
+      return null;
+    ProcessAnalysis analysis = analyses.get(processDefinitionId);
+    if (analysis == null) {
+      analysis = new ProcessAnalysis(model(processDefinitionId));
+      analyses.put(processDefinitionId, analysis);
+    }
+    return analysis;
+  }
+
+}
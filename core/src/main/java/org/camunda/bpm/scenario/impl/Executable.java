@@ -4,6 +4,7 @@ import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.scenario.defer.Deferred;
+import org.camunda.bpm.scenario.impl.ProcessAnalysis.Kind;
 import org.camunda.bpm.scenario.impl.job.ContinuationExecutable;
 import org.camunda.bpm.scenario.impl.waitstate.IgnoredExecutable;
 
@@ -24,41 +25,29 @@ public interface Executable<S> extends Comparable<S> {
 
   class Waitstates {
 
-    static Map<String, String> types = new HashMap<String, String>(); static {
-      types.put("userTask", "UserTaskExecutable");
-      types.put("intermediateSignalCatch", "SignalIntermediateCatchEventExecutable");
-      types.put("intermediateMessageCatch", "MessageIntermediateCatchEventExecutable");
-      types.put("receiveTask", "ReceiveTaskExecutable");
-      types.put("intermediateTimer", "TimerIntermediateEventExecutable");
-      types.put("intermediateConditional", "ConditionalIntermediateEventExecutable");
-      types.put("eventBasedGateway", "EventBasedGatewayExecutable");
-      types.put("callActivity", "CallActivityExecutable");
-      types.put("serviceTask", "ServiceTaskExecutable");
-      types.put("businessRuleTask", "BusinessRuleTaskExecutable");
-      types.put("sendTask", "SendTaskExecutable");
-      types.put("intermediateMessageThrowEvent", "MessageIntermediateThrowEventExecutable");
-      types.put("messageEndEvent", "MessageEndEventExecutable");
-    }
-
     static WaitstateExecutable newInstance(ProcessRunnerImpl runner, HistoricActivityInstance instance) {
       if (!runner.isExecuted(instance)) {
-        String type = instance.getActivityType();
-        if (types.containsKey(type)) {
-          try {
-            return (WaitstateExecutable) Class.forName(IgnoredExecutable.class.getPackage().getName() + "." + types.get(type)).getConstructor(ProcessRunnerImpl.class, HistoricActivityInstance.class).newInstance(runner, instance);
-          } catch (Exception e) {
-            throw new IllegalArgumentException(e);
-          }
+        Kind kind;
+        ProcessAnalysis analysis = runner.definitions().analysis(instance.getProcessDefinitionId());
+        ProcessAnalysis.Activity activity = analysis != null ? analysis.get(instance.getActivityId()) : null;
+        if (activity != null) {
+          // statically known not to be a wait state, just transiently open
+          if (!activity.isWaitstate())
+            return null;
+          kind = activity.getKind();
+        } else {
+          kind = Kind.of(instance.getActivityType());
+          if (kind == null)
+            return new IgnoredExecutable(runner, instance);
         }
-        return new IgnoredExecutable(runner, instance);
+        return kind.newInstance(runner, instance);
       }
       return null;
     }
 
     static List<Executable> next(ProcessRunnerImpl runner) {
-      List<HistoricActivityInstance> instances = runner.scenarioExecutor.processEngine
-          .getHistoryService().createHistoricActivityInstanceQuery()
-          .processInstanceId(runner.processInstance.getId()).unfinished().list();
+      List<HistoricActivityInstance> instances = runner.activityInstances().unfinished();
+      runner.setUnfinished(instances);
       return Helpers.next(runner, instances);
     }
 
@@ -96,15 +85,13 @@ public interface Executable<S> extends Comparable<S> {
 
   class Deferreds {
 
-    private static Map<String, List<DeferredExecutable>> executablesMap = new HashMap<String, List<DeferredExecutable>>();
-
-    public static DeferredExecutable newInstance(ProcessRunnerImpl runner, HistoricActivityInstance instance, String period, Deferred action) {
-      return new DeferredExecutable(runner, instance, period, action);
+    public static DeferredExecutable newInstance(WaitstateExecutable waitstate, String period, Deferred action) {
+      return new DeferredExecutable(waitstate, period, action);
     }
 
     static List<Executable> next(ProcessRunnerImpl runner) {
       List<Executable> e = new ArrayList<Executable>();
-      Collection<List<DeferredExecutable>> executablesCollection = executablesMap.values();
+      Collection<List<DeferredExecutable>> executablesCollection = runner.scenarioExecutor.deferreds.values();
       for (List<DeferredExecutable> executablesList: executablesCollection) {
         for (Executable executable: executablesList) {
           e.add(executable);
@@ -114,17 +101,22 @@ public interface Executable<S> extends Comparable<S> {
     }
 
     static void add(DeferredExecutable executable) {
+      Map<String, List<DeferredExecutable>> executablesMap = executable.runner.scenarioExecutor.deferreds;
       String id = executable.delegate.getId();
       if (!executablesMap.containsKey(id))
         executablesMap.put(id, new ArrayList<DeferredExecutable>());
       List<DeferredExecutable> e = executablesMap.get(id);
       e.add(executable);
+      if (executable.runner.scenarioExecutor.monitor != null)
+        executable.runner.scenarioExecutor.monitor.deferred();
     }
 
     static void remove(DeferredExecutable executable) {
+      Map<String, List<DeferredExecutable>> executablesMap = executable.runner.scenarioExecutor.deferreds;
       String id = executable.delegate.getId();
       List<DeferredExecutable> e = executablesMap.get(id);
-      e.remove(executable);
+      if (e.remove(executable) && executable.runner.scenarioExecutor.monitor != null)
+        executable.runner.scenarioExecutor.monitor.undeferred();
       if (e.isEmpty())
         executablesMap.remove(id);
     }
@@ -3,6 +3,7 @@ package org.camunda.bpm.scenario.impl;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.scenario.impl.util.Api;
+import org.camunda.bpm.scenario.impl.util.IdKey;
 import org.camunda.bpm.scenario.impl.util.Log;
 import org.camunda.bpm.scenario.impl.util.Log.Action;
 
@@ -11,6 +12,8 @@ import org.camunda.bpm.scenario.impl.util.Log.Action;
  */
 public abstract class JobExecutable extends AbstractExecutable<Job> {
 
+  private IdKey idKey;
+
   protected JobExecutable(ProcessRunnerImpl runner, Job job) {
     super(runner);
     this.delegate = job;
@@ -40,27 +43,46 @@ public abstract class JobExecutable extends AbstractExecutable<Job> {
   @Override
   public int compareTo(AbstractExecutable other) {
     int compare = super.compareTo(other);
-    return compare == 0 ? idComparator.compare(delegate.getId(), ((JobExecutable) other).delegate.getId()) : compare;
+    return compare == 0 ? idKey().compareTo(((JobExecutable) other).idKey()) : compare;
+  }
+
+  private IdKey idKey() {
+    if (idKey == null)
+      idKey = IdKey.of(delegate.getId());
+    return idKey;
+  }
+
+  @Override
+  String traceType() {
+    return "job";
+  }
+
+  @Override
+  String traceName() {
+    return ((JobEntity) delegate).getJobHandlerType();
   }
 
   private void log() {
     JobEntity entity = (JobEntity) delegate;
     String type = entity.getJobHandlerType();
     String config;
-    if (Api.feature(JobEntity.class.getName(), "getJobHandlerConfigurationRaw").isSupported()) {
+    Api raw = Api.feature(JobEntity.class.getName(), "getJobHandlerConfigurationRaw");
+    if (raw.isSupported()) {
       config = entity.getJobHandlerConfigurationRaw();
     } else {
+      long fallback = raw.fallback();
       try {
         config = (String) JobEntity.class.getMethod("getJobHandlerConfiguration").invoke(entity);
       } catch (Exception e) {
         config = "";
       }
+      raw.fellBack(fallback);
     }
     Action.Executing_Job.log(
         type,
         config,
         null,
-        getRepositoryService().createProcessDefinitionQuery().processDefinitionId(runner.processInstance.getProcessDefinitionId()).singleResult().getKey(),
+        runner.getProcessDefinitionKey(),
         runner.processInstance.getId(),
         null,
         null
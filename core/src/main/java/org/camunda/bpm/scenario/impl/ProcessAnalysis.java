@@ -0,0 +1,211 @@
+package org.camunda.bpm.scenario.impl;
+
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.BusinessRuleTask;
+import org.camunda.bpm.model.bpmn.instance.CallActivity;
+import org.camunda.bpm.model.bpmn.instance.ConditionalEventDefinition;
+import org.camunda.bpm.model.bpmn.instance.EndEvent;
+import org.camunda.bpm.model.bpmn.instance.Event;
+import org.camunda.bpm.model.bpmn.instance.EventBasedGateway;
+import org.camunda.bpm.model.bpmn.instance.EventDefinition;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.camunda.bpm.model.bpmn.instance.IntermediateCatchEvent;
+import org.camunda.bpm.model.bpmn.instance.IntermediateThrowEvent;
+import org.camunda.bpm.model.bpmn.instance.MessageEventDefinition;
+import org.camunda.bpm.model.bpmn.instance.ReceiveTask;
+import org.camunda.bpm.model.bpmn.instance.SendTask;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.camunda.bpm.model.bpmn.instance.SignalEventDefinition;
+import org.camunda.bpm.model.bpmn.instance.TimerEventDefinition;
+import org.camunda.bpm.model.bpmn.instance.UserTask;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+import org.camunda.bpm.scenario.impl.waitstate.IgnoredExecutable;
+
+import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Analyses a deployed BPMN model once before its process instances are
+ * executed: classifies every flow node as the kind of wait state it is
+ * (or as not being a wait state at all). Runners use the analysis to
+ * skip activity instances which are just transiently open (e.g. embedded
+ * subprocesses) and to dispatch to the right executable without looking
+ * it up by activity type.
+ */
+public class ProcessAnalysis {
+
+  /**
+   * The kinds of wait states, named like the activity types found in
+   * the history, each one executed by its own executable class.
+   */
+  public enum Kind {
+
+    userTask("UserTaskExecutable"),
+    intermediateSignalCatch("SignalIntermediateCatchEventExecutable"),
+    intermediateMessageCatch("MessageIntermediateCatchEventExecutable"),
+    receiveTask("ReceiveTaskExecutable"),
+    intermediateTimer("TimerIntermediateEventExecutable"),
+    intermediateConditional("ConditionalIntermediateEventExecutable"),
+    eventBasedGateway("EventBasedGatewayExecutable"),
+    callActivity("CallActivityExecutable"),
+    serviceTask("ServiceTaskExecutable"),
+    businessRuleTask("BusinessRuleTaskExecutable"),
+    sendTask("SendTaskExecutable"),
+    intermediateMessageThrowEvent("MessageIntermediateThrowEventExecutable"),
+    messageEndEvent("MessageEndEventExecutable");
+
+    private static Map<String, Kind> types = new HashMap<String, Kind>(); static {
+      for (Kind kind: values()) {
+        types.put(kind.name(), kind);
+      }
+    }
+
+    private String executable;
+    private final Constructor<?> constructor;
+
+    Kind(String executable) {
+      this.executable = executable;
+      this.constructor = constructor(executable);
+    }
+
+    /**
+     * @return the constructor of the executable class or null in case
+     * the engine version used lacks the types it relies on (e.g. external
+     * tasks before Camunda BPM 7.4)
+     */
+    private static Constructor<?> constructor(String executable) {
+      try {
+        return Class.forName(IgnoredExecutable.class.getPackage().getName() + "." + executable)
+            .getConstructor(ProcessRunnerImpl.class, HistoricActivityInstance.class);
+      } catch (Exception e) {
+        return null;
+      } catch (LinkageError e) {
+        return null;
+      }
+    }
+
+    /**
+     * @return the kind of wait state for an activity type found in the
+     * history or null in case the type is no wait state
+     */
+    public static Kind of(String activityType) {
+      return activityType != null ? types.get(activityType) : null;
+    }
+
+    WaitstateExecutable newInstance(ProcessRunnerImpl runner, HistoricActivityInstance instance) {
+      if (constructor == null)
+        throw new IllegalArgumentException("Outdated Camunda BPM version used will not allow to execute '" + executable + "'");
+      try {
+        return (WaitstateExecutable) constructor.newInstance(runner, instance);
+      } catch (Exception e) {
+        throw new IllegalArgumentException(e);
+      }
+    }
+
+  }
+
+  /**
+   * The static properties of a flow node relevant for executing it.
+   */
+  public static class Activity {
+
+    private String id;
+    private Kind kind;
+
+    Activity(String id) {
+      this.id = id;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    /**
+     * @return the kind of wait state or null in case the activity is
+     * no wait state
+     */
+    public Kind getKind() {
+      return kind;
+    }
+
+    public boolean isWaitstate() {
+      return kind != null;
+    }
+
+  }
+
+  private Map<String, Activity> activities = new HashMap<String, Activity>();
+
+  public ProcessAnalysis(BpmnModelInstance model) {
+    for (FlowNode node: model.getModelElementsByType(FlowNode.class)) {
+      Activity activity = activity(node.getId());
+      activity.kind = kind(node);
+    }
+  }
+
+  /**
+   * @return the analysis of the activity or null in case the model does
+   * not contain it (e.g. a multi instance body)
+   */
+  public Activity get(String activityId) {
+    return activities.get(activityId);
+  }
+
+  public Collection<Activity> activities() {
+    return Collections.unmodifiableCollection(activities.values());
+  }
+
+  private Activity activity(String id) {
+    Activity activity = activities.get(id);
+    if (activity == null)
+      activities.put(id, activity = new Activity(id));
+    return activity;
+  }
+
+  private static Kind kind(FlowNode node) {
+    if (node instanceof UserTask)
+      return Kind.userTask;
+    if (node instanceof ServiceTask)
+      return Kind.serviceTask;
+    if (node instanceof SendTask)
+      return Kind.sendTask;
+    if (node instanceof BusinessRuleTask)
+      return Kind.businessRuleTask;
+    if (node instanceof ReceiveTask)
+      return Kind.receiveTask;
+    if (node instanceof CallActivity)
+      return Kind.callActivity;
+    if (node instanceof EventBasedGateway)
+      return Kind.eventBasedGateway;
+    if (node instanceof IntermediateCatchEvent) {
+      for (EventDefinition definition: definitions(node)) {
+        if (definition instanceof TimerEventDefinition)
+          return Kind.intermediateTimer;
+        if (definition instanceof MessageEventDefinition)
+          return Kind.intermediateMessageCatch;
+        if (definition instanceof SignalEventDefinition)
+          return Kind.intermediateSignalCatch;
+        if (definition instanceof ConditionalEventDefinition)
+          return Kind.intermediateConditional;
+      }
+    }
+    if (node instanceof IntermediateThrowEvent || node instanceof EndEvent) {
+      for (EventDefinition definition: definitions(node)) {
+        if (definition instanceof MessageEventDefinition)
+          return node instanceof EndEvent ? Kind.messageEndEvent : Kind.intermediateMessageThrowEvent;
+      }
+    }
+    return null;
+  }
+
+  private static Collection<EventDefinition> definitions(ModelElementInstance node) {
+    return node instanceof Event
+        ? node.getChildElementsByType(EventDefinition.class)
+        : Collections.<EventDefinition>emptyList();
+  }
+
+}
@@ -3,14 +3,17 @@ package org.camunda.bpm.scenario.impl;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.runtime.ProcessInstantiationBuilder;
 import org.camunda.bpm.scenario.ProcessScenario;
 import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.Action;
+import org.camunda.bpm.scenario.impl.monitor.CommandCounter;
 import org.camunda.bpm.scenario.impl.util.Api;
-import org.camunda.bpm.scenario.impl.util.IdComparator;
+import org.camunda.bpm.scenario.impl.util.IdKey;
 import org.camunda.bpm.scenario.impl.util.Log;
-import org.camunda.bpm.scenario.impl.util.Log.Action;
+import org.camunda.bpm.scenario.impl.util.Time;
 import org.camunda.bpm.scenario.impl.waitstate.CallActivityExecutable;
 import org.camunda.bpm.scenario.run.ProcessRunner;
 import org.camunda.bpm.scenario.run.ProcessRunner.ExecutableRunner.StartingByKey;
@@ -27,6 +30,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author <a href="martin.schimak@plexiti.com">Martin Schimak</a>
@@ -41,6 +45,15 @@ public class ProcessRunnerImpl extends AbstractRunner implements StartingByKey,
   private Set<String> executed = new HashSet<String>();
   private Set<String> started = new HashSet<String>();
   private Set<String> finished = new HashSet<String>();
+  private Set<String> unfinished = new HashSet<String>();
+  private Map<String, Integer> timelineRows = new HashMap<String, Integer>();
+  private Map<String, IdKey> idKeys = new HashMap<String, IdKey>();
+  private Map<String, Action> actions = new HashMap<String, Action>();
+  private ActivityInstances activityInstances;
+  int timelineInstance = -1;
+  private long actingSince;
+  private long actingWait;
+  private long actingCommands;
 
   ScenarioImpl scenarioExecutor;
   ProcessScenario scenario;
@@ -114,6 +127,19 @@ public class ProcessRunnerImpl extends AbstractRunner implements StartingByKey,
     return this;
   }
 
+  @Override
+  public ExecutableRunner stable() {
+    scenarioExecutor.stable = true;
+    return this;
+  }
+
+  @Override
+  public ExecutableRunner batched() {
+    scenarioExecutor.batched = Api.feature(CommandContext.class.getName(), "getDbEntityManager")
+        .warn("Outdated Camunda BPM version used will not allow to batch scenario steps");
+    return this;
+  }
+
   @Override
   public Scenario execute() {
     return scenarioExecutor.execute();
@@ -123,6 +149,10 @@ public class ProcessRunnerImpl extends AbstractRunner implements StartingByKey,
     return scenarioExecutor.processEngine;
   }
 
+  public Definitions definitions() {
+    return scenarioExecutor.definitions;
+  }
+
   public String getProcessDefinitionKey() {
     return processDefinitionKey;
   }
@@ -131,7 +161,7 @@ public class ProcessRunnerImpl extends AbstractRunner implements StartingByKey,
     this.scenarioExecutor = waitstate.runner.scenarioExecutor;
     this.scenarioExecutor.runners.add(this);
     this.processInstance = waitstate;
-    processDefinitionKey = engine().getRepositoryService().createProcessDefinitionQuery().processDefinitionId(processInstance.getProcessDefinitionId()).singleResult().getKey();
+    processDefinitionKey = scenarioExecutor.definitions.key(processInstance.getProcessDefinitionId());
     setExecuted();
   }
 
@@ -171,9 +201,10 @@ public class ProcessRunnerImpl extends AbstractRunner implements StartingByKey,
       }
     }
     if (processInstance == null) {
+      scenarioExecutor.changes++;
       this.processInstance = processStarter.start();
       if (processDefinitionKey == null) {
-        processDefinitionKey = engine().getRepositoryService().createProcessDefinitionQuery().processDefinitionId(processInstance.getProcessDefinitionId()).singleResult().getKey();
+        processDefinitionKey = scenarioExecutor.definitions.key(processInstance.getProcessDefinitionId());
       }
       setExecuted();
     }
@@ -193,19 +224,27 @@ public class ProcessRunnerImpl extends AbstractRunner implements StartingByKey,
   }
 
   public void setExecuted() {
+    scenarioExecutor.flush();
+    long bookkeeping = System.nanoTime();
     boolean supportsCanceled = Api.feature(HistoricActivityInstance.class.getName(), "isCanceled")
       .warn("Outdated Camunda BPM version used will not allow to use " +
           "'" + ProcessScenario.class.getName().replace('$', '.') +
-          ".hasCanceled(String activityId)' and '.hasCompleted(String activityId)' methods.");
-    List<HistoricActivityInstance> instances = scenarioExecutor.processEngine.getHistoryService()
-        .createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).list();
+          ".hasCanceled(String activityId)' and '.hasCompleted(String activityId)' methods.")
+      && activityInstances().isCancellationKnown();
+    List<HistoricActivityInstance> instances = new ArrayList<HistoricActivityInstance>();
+    for (HistoricActivityInstance instance: activityInstances().all()) {
+      // finished activity instances are bookkept already
+      if (!finished.contains(instance.getId()))
+        instances.add(instance);
+    }
     Collections.sort(instances, new Comparator<HistoricActivityInstance>() {
-      IdComparator idComparator = new IdComparator();
       @Override
       public int compare(HistoricActivityInstance instance1, HistoricActivityInstance instance2) {
-        return idComparator.compare(instance1.getId(), instance2.getId());
+        return idKey(instance1.getId()).compareTo(idKey(instance2.getId()));
       }
     });
+    if (timelineInstance < 0)
+      timelineInstance = scenarioExecutor.timeline.instance(processInstance.getId(), scenario);
     for (HistoricActivityInstance instance: instances) {
       if (!started.contains(instance.getId())) {
         Log.Action.Started.log(
@@ -217,10 +256,22 @@ public class ProcessRunnerImpl extends AbstractRunner implements StartingByKey,
             null,
             null
         );
+        timelineRows.put(instance.getId(), scenarioExecutor.timeline.started(
+            timelineInstance,
+            instance.getActivityId(),
+            instance.getActivityType(),
+            processDefinitionKey,
+            instance.getStartTime()
+        ));
         scenario.hasStarted(instance.getActivityId());
         started.add(instance.getId());
       }
       if (instance.getEndTime() != null && !finished.contains(instance.getId())) {
+        scenarioExecutor.timeline.finished(
+            timelineRows.remove(instance.getId()),
+            instance.getEndTime(),
+            supportsCanceled && instance.isCanceled()
+        );
         scenario.hasFinished(instance.getActivityId());
         if (supportsCanceled) {
           if (instance.isCanceled()) {
@@ -258,8 +309,40 @@ public class ProcessRunnerImpl extends AbstractRunner implements StartingByKey,
           );
         }
         finished.add(instance.getId());
+        idKeys.remove(instance.getId());
       }
     }
+    scenarioExecutor.timeline.bookkept(System.nanoTime() - bookkeeping);
+  }
+
+  /**
+   * @return the source of the activity instances of the process instance
+   * run, depending on the history level of the process engine
+   */
+  ActivityInstances activityInstances() {
+    if (activityInstances == null)
+      activityInstances = ActivityInstances.newInstance(this);
+    return activityInstances;
+  }
+
+  public void acting(HistoricActivityInstance instance) {
+    if (scenarioExecutor.metrics != null) {
+      actingWait = Time.get().getTime() - instance.getStartTime().getTime();
+      actingCommands = CommandCounter.threadNanos(scenarioExecutor.processEngine);
+    }
+    actingSince = System.nanoTime();
+  }
+
+  public void acted(HistoricActivityInstance instance) {
+    long ended = System.nanoTime();
+    scenarioExecutor.timeline.acted(actingSince, ended);
+    if (scenarioExecutor.metrics != null) {
+      // the commands of a batched step are nested in the step's command
+      // and not measured on their own, so their time remains unknown
+      long commands = scenarioExecutor.batched ? -1 : CommandCounter.threadNanos(scenarioExecutor.processEngine);
+      scenarioExecutor.metrics.acted(instance.getActivityId(), TimeUnit.MILLISECONDS.toNanos(actingWait),
+          ended - actingSince, commands >= 0 ? commands - actingCommands : -1);
+    }
   }
 
   public void setExecuted(WaitstateExecutable waitstate) {
@@ -267,6 +350,43 @@ public class ProcessRunnerImpl extends AbstractRunner implements StartingByKey,
     setExecuted();
   }
 
+  /**
+   * @return the action delivered by the scenario for the wait state,
+   * looked up just once per kind of wait state and activity id
+   */
+  Action action(WaitstateExecutable waitstate) {
+    String key = waitstate.getClass().getSimpleName() + "#" + waitstate.getActivityId();
+    if (!actions.containsKey(key))
+      actions.put(key, waitstate.action(scenario));
+    return actions.get(key);
+  }
+
+  /**
+   * @return the comparable key of an unfinished activity instance id,
+   * which is parsed just once per id and dropped once it is finished
+   */
+  IdKey idKey(String id) {
+    IdKey key = idKeys.get(id);
+    if (key == null)
+      idKeys.put(id, key = IdKey.of(id));
+    return key;
+  }
+
+  void setUnfinished(List<HistoricActivityInstance> instances) {
+    unfinished.clear();
+    for (HistoricActivityInstance instance: instances) {
+      unfinished.add(instance.getId());
+    }
+  }
+
+  /**
+   * @return true in case the activity instance was found to be
+   * unfinished when the runner was polled for the current step
+   */
+  public boolean isUnfinished(HistoricActivityInstance instance) {
+    return unfinished.contains(instance.getId());
+  }
+
   public boolean isExecuted(HistoricActivityInstance instance) {
     return executed.contains(instance.getId());
   }
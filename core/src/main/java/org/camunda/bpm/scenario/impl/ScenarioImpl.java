@@ -2,15 +2,26 @@ package org.camunda.bpm.scenario.impl;
 
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngines;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.scenario.ProcessScenario;
 import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.impl.monitor.ActivityMetrics;
+import org.camunda.bpm.scenario.impl.monitor.ScenarioMonitor;
+import org.camunda.bpm.scenario.impl.timeline.TimelineImpl;
 import org.camunda.bpm.scenario.impl.util.Log;
 import org.camunda.bpm.scenario.impl.util.Log.Action;
 import org.camunda.bpm.scenario.impl.util.Time;
 import org.camunda.bpm.scenario.run.ProcessRunner.StartableRunner;
+import org.camunda.bpm.scenario.timeline.Timeline;
 
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,9 +31,19 @@ import java.util.Map;
 public class ScenarioImpl extends Scenario {
 
   private boolean executed;
+  boolean stable;
+  boolean batched;
 
   ProcessEngine processEngine;
   List<AbstractRunner> runners = new ArrayList<AbstractRunner>();
+  TimelineImpl timeline = new TimelineImpl();
+  Map<String, List<DeferredExecutable>> deferreds = new HashMap<String, List<DeferredExecutable>>();
+  ScenarioMonitor monitor = ScenarioMonitor.get();
+  ActivityMetrics metrics = ActivityMetrics.isRecording() ? new ActivityMetrics() : null;
+  Definitions definitions = new Definitions(this);
+  // counts the engine commands changing the state of the process
+  // instances, so that runners may reuse what they read in between
+  long changes;
 
   public ScenarioImpl(ProcessScenario scenario) {
     this.runners.add(new ProcessRunnerImpl(this, scenario));
@@ -31,20 +52,88 @@ public class ScenarioImpl extends Scenario {
   protected Scenario execute() {
     init();
     Time.init();
-    List<Executable> executables;
-    do {
-      executables = new ArrayList<Executable>();
-      for (AbstractRunner runner: runners) {
-        executables.addAll(runner.next());
-      }
-      executables = Executable.Helpers.first(executables);
-      if (!executables.isEmpty())
-        executables.get(0).execute();
-    } while (!executables.isEmpty());
+    timeline.run();
+    if (monitor != null)
+      monitor.started(this);
+    try {
+      CommandExecutor commandExecutor = batched ? ((ProcessEngineImpl) processEngine)
+          .getProcessEngineConfiguration().getCommandExecutorTxRequired() : null;
+      AbstractExecutable executable;
+      do {
+        final long started = System.nanoTime();
+        if (commandExecutor != null) {
+          executable = commandExecutor.execute(new Command<AbstractExecutable>() {
+            @Override
+            public AbstractExecutable execute(CommandContext commandContext) {
+              AbstractExecutable executable = poll(started);
+              if (executable != null && !(executable instanceof JobExecutable))
+                step(executable);
+              return executable;
+            }
+          });
+          // jobs are executed in commands of their own, as the engine
+          // handles their failures, retries and incidents in separate
+          // transactions which must not roll back the batched step
+          if (executable instanceof JobExecutable)
+            step(executable);
+        } else {
+          executable = poll(started);
+          if (executable != null)
+            step(executable);
+        }
+        if (executable != null) {
+          long ended = System.nanoTime();
+          timeline.step(executable.runner.timelineInstance, executable.traceType(), executable.traceName(), Time.get(), started, ended);
+          if (monitor != null)
+            monitor.step(this, executable.traceType() + " '" + executable.traceName() + "'", ended - started);
+        }
+      } while (executable != null);
+    } finally {
+      if (monitor != null)
+        monitor.ended(this);
+    }
     Time.reset();
     return this;
   }
 
+  /**
+   * Poll all runners for the first executable due.
+   *
+   * @return the executable to be executed next or null in case
+   * nothing remains to be executed
+   */
+  private AbstractExecutable poll(long started) {
+    List<Executable> executables = new ArrayList<Executable>();
+    for (AbstractRunner runner: runners) {
+      executables.addAll(runner.next());
+    }
+    executables = Executable.Helpers.first(executables);
+    timeline.polled(System.nanoTime() - started);
+    return executables.isEmpty() ? null : (AbstractExecutable) executables.get(0);
+  }
+
+  private void step(AbstractExecutable executable) {
+    if (monitor != null) {
+      // the simulated time is fast forwarded by executables not due yet
+      Date time = executable.isExecutableAt();
+      monitor.stepping(this, runners.size(), time.after(Time.get()) ? time : Time.get());
+    }
+    changes++;
+    executable.execute();
+  }
+
+  /**
+   * Flush the changes made so far by a batched step, so that the
+   * queries following within the same command see them.
+   */
+  void flush() {
+    if (batched) {
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext != null)
+        commandContext.getDbEntityManager().flush();
+    }
+  }
+
   @Override
   public ProcessInstance instance(ProcessScenario scenario) {
     List<ProcessInstance> instances = instances(scenario);
@@ -67,6 +156,24 @@ public class ScenarioImpl extends Scenario {
     return instances;
   }
 
+  @Override
+  public Timeline timeline() {
+    return timeline;
+  }
+
+  @Override
+  public void close() {
+    timeline.close();
+  }
+
+  /**
+   * @return latency histograms per activity of the actions executed or
+   * null in case metrics were not recorded
+   */
+  public ActivityMetrics metrics() {
+    return metrics;
+  }
+
   protected void init() {
     if (executed)
       throw new IllegalStateException("Scenarios may use execute() just once per Scenario.run(). " +
@@ -9,7 +9,10 @@ import org.camunda.bpm.scenario.impl.delegate.ProcessInstanceDelegateImpl;
 import org.camunda.bpm.scenario.impl.util.Log;
 import org.camunda.bpm.scenario.impl.util.Time;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author <a href="martin.schimak@plexiti.com">Martin Schimak</a>
@@ -17,17 +20,50 @@ import java.util.Date;
 public abstract class WaitstateExecutable<I> extends AbstractExecutable<I> {
 
   protected HistoricActivityInstance historicDelegate;
+  private ProcessInstanceDelegate processInstanceDelegate;
+  private Map<String, Map<String, Object>> variables = new HashMap<String, Map<String, Object>>();
 
   protected WaitstateExecutable(ProcessRunnerImpl runner, HistoricActivityInstance instance) {
     super(runner);
     this.historicDelegate = instance;
-    this.delegate = getDelegate();
+    resolve();
   }
 
   public ProcessInstanceDelegate getProcessInstance() {
-    return ProcessInstanceDelegateImpl.newInstance(this, runner.processInstance);
+    if (processInstanceDelegate == null)
+      processInstanceDelegate = ProcessInstanceDelegateImpl.newInstance(this, runner.processInstance);
+    return processInstanceDelegate;
   };
 
+  public Map<String, Object> getVariables() {
+    return getVariables(getExecutionId());
+  }
+
+  public Object getVariable(String name) {
+    return getVariables().get(name);
+  }
+
+  /**
+   * @return snapshot of the variables visible from the execution given,
+   * fetched just once per action executed
+   */
+  public Map<String, Object> getVariables(String executionId) {
+    Map<String, Object> snapshot = variables.get(executionId);
+    if (snapshot == null) {
+      snapshot = Collections.unmodifiableMap(getRuntimeService().getVariables(executionId));
+      variables.put(executionId, snapshot);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Forget the variable snapshots taken, e.g. because an action
+   * might have changed variables.
+   */
+  protected void forgetVariables() {
+    variables.clear();
+  }
+
   @Override
   public String getExecutionId() {
     return historicDelegate.getExecutionId();
@@ -57,9 +93,14 @@ public abstract class WaitstateExecutable<I> extends AbstractExecutable<I> {
           null,
           null
       );
+      runner.acting(historicDelegate);
+      forgetVariables();
       action.execute(this);
+      runner.acted(historicDelegate);
     } catch (Exception e) {
       throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+    } finally {
+      forgetVariables();
     }
     runner.setExecuted(this);
   }
@@ -67,22 +108,40 @@ public abstract class WaitstateExecutable<I> extends AbstractExecutable<I> {
   protected abstract Action action(ProcessScenario scenario);
 
   protected final Action action() {
-    return action(runner.scenario);
+    return runner.scenarioExecutor.stable && isStable() ? runner.action(this) : action(runner.scenario);
   };
 
+  /**
+   * @return false in case the action delivered by a stable scenario
+   * must nevertheless not be reused for other activity instances
+   */
+  protected boolean isStable() {
+    return true;
+  }
+
   public Date isExecutableAt() {
     return historicDelegate.getStartTime();
   }
 
+  @Override
+  String traceType() {
+    return historicDelegate.getActivityType();
+  }
+
+  @Override
+  String traceName() {
+    return historicDelegate.getActivityId();
+  }
+
   public void defer(String period, Deferred action) {
-    Deferreds.newInstance(runner, historicDelegate, period, action);
+    Deferreds.newInstance(this, period, action);
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public int compareTo(AbstractExecutable other) {
     int compare = super.compareTo(other);
-    return compare == 0 ? idComparator.compare(historicDelegate.getId(), ((WaitstateExecutable) other).historicDelegate.getId()) : compare;
+    return compare == 0 ? runner.idKey(historicDelegate.getId()).compareTo(runner.idKey(((WaitstateExecutable) other).historicDelegate.getId())) : compare;
   }
 
 }
@@ -40,6 +40,16 @@ public class EventSubscriptionDelegateImpl extends AbstractDelegate<EventSubscri
     return ProcessInstanceDelegateImpl.newInstance(waitstate, waitstate.getRuntimeService().createProcessInstanceQuery().processInstanceId(delegate.getProcessInstanceId()).singleResult());
   }
 
+  @Override
+  public Map<String, Object> getVariables() {
+    return waitstate.getVariables(delegate.getExecutionId());
+  }
+
+  @Override
+  public Object getVariable(String name) {
+    return getVariables().get(name);
+  }
+
   @Override
   public void defer(String period, Deferred action) {
     waitstate.defer(period, action);
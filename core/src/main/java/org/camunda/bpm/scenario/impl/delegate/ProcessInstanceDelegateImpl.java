@@ -5,6 +5,8 @@ import org.camunda.bpm.scenario.defer.Deferred;
 import org.camunda.bpm.scenario.delegate.ProcessInstanceDelegate;
 import org.camunda.bpm.scenario.impl.WaitstateExecutable;
 
+import java.util.Map;
+
 /**
  * @author <a href="martin.schimak@plexiti.com">Martin Schimak</a>
  */
@@ -26,6 +28,16 @@ public class ProcessInstanceDelegateImpl extends AbstractDelegate<ProcessInstanc
     waitstate.defer(period, action);
   }
 
+  @Override
+  public Map<String, Object> getVariables() {
+    return waitstate.getVariables(delegate.getId());
+  }
+
+  @Override
+  public Object getVariable(String name) {
+    return getVariables().get(name);
+  }
+
   @Override
   public String getProcessDefinitionId() {
     return delegate.getProcessDefinitionId();
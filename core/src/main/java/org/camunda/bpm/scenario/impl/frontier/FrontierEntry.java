@@ -0,0 +1,79 @@
+package org.camunda.bpm.scenario.impl.frontier;
+
+/**
+ * One element of the frontier of a set of process instances, as returned
+ * by the {@link FrontierQueryCmd}: an unfinished activity instance, a job,
+ * a task or an external task.
+ */
+public class FrontierEntry {
+
+  public enum Kind { ACTIVITY, JOB, TASK, EXTERNAL_TASK }
+
+  private Kind kind;
+  private String id;
+  private String processInstanceId;
+  private String executionId;
+  private String activityId;
+  private String detail;
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  public void setKind(Kind kind) {
+    this.kind = kind;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public void setProcessInstanceId(String processInstanceId) {
+    this.processInstanceId = processInstanceId;
+  }
+
+  public String getExecutionId() {
+    return executionId;
+  }
+
+  public void setExecutionId(String executionId) {
+    this.executionId = executionId;
+  }
+
+  /**
+   * @return the activity id, or null for jobs
+   */
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  /**
+   * @return the activity type of activity instances, the handler type
+   * of jobs, the name of tasks and the topic of external tasks
+   */
+  public String getDetail() {
+    return detail;
+  }
+
+  public void setDetail(String detail) {
+    this.detail = detail;
+  }
+
+  @Override
+  public String toString() {
+    return kind + "[" + id + ", " + activityId + ", " + detail + "]";
+  }
+
+}
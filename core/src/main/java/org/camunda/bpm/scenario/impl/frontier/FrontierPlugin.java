@@ -0,0 +1,49 @@
+package org.camunda.bpm.scenario.impl.frontier;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.session.Configuration;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Registers the MyBatis mapping of the {@link FrontierQueryCmd} with the
+ * engine's SQL session factory. The mapping uses the engine's database
+ * table prefix and is parsed just once per SQL session factory.
+ */
+public class FrontierPlugin implements ProcessEnginePlugin {
+
+  public static final String MAPPING = "org/camunda/bpm/scenario/impl/frontier/Frontier.xml";
+
+  @Override
+  public void preInit(ProcessEngineConfigurationImpl configuration) {
+  }
+
+  @Override
+  public void postInit(ProcessEngineConfigurationImpl configuration) {
+    Configuration mybatis = configuration.getSqlSessionFactory().getConfiguration();
+    // engines built from the same configuration share its session factory
+    if (mybatis.hasStatement(FrontierQueryCmd.STATEMENT))
+      return;
+    InputStream inputStream = FrontierPlugin.class.getClassLoader().getResourceAsStream(MAPPING);
+    if (inputStream == null)
+      throw new IllegalStateException("Resource '" + MAPPING + "' not found in classpath");
+    try {
+      new XMLMapperBuilder(inputStream, mybatis, MAPPING, mybatis.getSqlFragments()).parse();
+    } finally {
+      try {
+        inputStream.close();
+      } catch (IOException e) {
+        // ignore
+      }
+    }
+  }
+
+  @Override
+  public void postProcessEngineBuild(ProcessEngine processEngine) {
+  }
+
+}
@@ -0,0 +1,46 @@
+package org.camunda.bpm.scenario.impl.frontier;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.scenario.impl.util.Api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects the frontier of a set of process instances - their unfinished
+ * activity instances, jobs, tasks and (as of Camunda BPM 7.4) external
+ * tasks - in one single SQL round trip instead of one query per kind and
+ * process instance. Requires the {@link FrontierPlugin} to be installed.
+ * <p>
+ * The scenario runners do not use this query yet: it serves the
+ * FrontierBenchmark only, which measures what replacing their queries
+ * per kind and process instance would gain.
+ */
+public class FrontierQueryCmd implements Command<List<FrontierEntry>> {
+
+  public static final String STATEMENT = "org.camunda.bpm.scenario.impl.frontier.selectFrontier";
+
+  private Collection<String> processInstanceIds;
+
+  public FrontierQueryCmd(Collection<String> processInstanceIds) {
+    this.processInstanceIds = processInstanceIds;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<FrontierEntry> execute(CommandContext commandContext) {
+    if (processInstanceIds.isEmpty())
+      return Collections.emptyList();
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", new ArrayList<String>(processInstanceIds));
+    parameters.put("externalTasks", Api.feature(ProcessEngine.class.getName(), "getExternalTaskService").isSupported());
+    return (List<FrontierEntry>) commandContext.getDbSqlSession().getSqlSession().selectList(STATEMENT, parameters);
+  }
+
+}
@@ -0,0 +1,43 @@
+package org.camunda.bpm.scenario.impl.frontier;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.camunda.bpm.scenario.impl.frontier.FrontierEntry.Kind;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the kind literals of the frontier query to {@link Kind} values.
+ * Trims them, as some databases (e.g. Oracle, DB2) blank-pad the CHAR
+ * literals of a UNION to the length of the longest one.
+ */
+public class KindTypeHandler extends BaseTypeHandler<Kind> {
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, Kind parameter, JdbcType jdbcType) throws SQLException {
+    ps.setString(i, parameter.name());
+  }
+
+  @Override
+  public Kind getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    return kind(rs.getString(columnName));
+  }
+
+  @Override
+  public Kind getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    return kind(rs.getString(columnIndex));
+  }
+
+  @Override
+  public Kind getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    return kind(cs.getString(columnIndex));
+  }
+
+  private Kind kind(String value) {
+    return value != null ? Kind.valueOf(value.trim()) : null;
+  }
+
+}
@@ -0,0 +1,37 @@
+package org.camunda.bpm.scenario.impl.history;
+
+import org.camunda.bpm.engine.impl.history.AbstractHistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+
+/**
+ * History level producing just the activity instance events a scenario
+ * reads: their start, update (e.g. the task or called process instance
+ * becoming known), end and (as of 7.5) migration. Process instances,
+ * variables, details, identity links, incidents and job logs are not
+ * recorded. Installed with the {@link ScenarioHistoryPlugin}.
+ */
+public class ScenarioHistoryLevel extends AbstractHistoryLevel {
+
+  public static final int ID = 41;
+  public static final String NAME = "scenario";
+
+  private static final String ENTITY_TYPE = HistoryEventTypes.ACTIVITY_INSTANCE_START.getEntityType();
+
+  @Override
+  public int getId() {
+    return ID;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public boolean isHistoryEventProduced(HistoryEventType eventType, Object entity) {
+    // compared by entity type, as not all event types exist in all engine versions
+    return eventType != null && ENTITY_TYPE.equals(eventType.getEntityType());
+  }
+
+}
@@ -0,0 +1,39 @@
+package org.camunda.bpm.scenario.impl.history;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers the {@link ScenarioHistoryLevel} and makes the process engine
+ * use it, whatever history level was configured before. Cuts the history
+ * inserts of a scenario suite down to the activity instances, which is
+ * all a scenario needs. As the engine records the history level in its
+ * database, use it with a fresh (e.g. in memory) database.
+ */
+public class ScenarioHistoryPlugin implements ProcessEnginePlugin {
+
+  @Override
+  public void preInit(ProcessEngineConfigurationImpl configuration) {
+    List<HistoryLevel> levels = configuration.getCustomHistoryLevels();
+    if (levels == null) {
+      levels = new ArrayList<HistoryLevel>();
+      configuration.setCustomHistoryLevels(levels);
+    }
+    levels.add(new ScenarioHistoryLevel());
+    configuration.setHistory(ScenarioHistoryLevel.NAME);
+  }
+
+  @Override
+  public void postInit(ProcessEngineConfigurationImpl configuration) {
+  }
+
+  @Override
+  public void postProcessEngineBuild(ProcessEngine processEngine) {
+  }
+
+}
@@ -0,0 +1,118 @@
+package org.camunda.bpm.scenario.impl.monitor;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency histograms per activity id, all in nanoseconds: from entering a
+ * wait state to the scenario acting on it (in simulated time, unless
+ * running in wall clock mode), for executing the action and for the engine
+ * commands executed by the action (recorded only in case the engine has a
+ * {@link CommandCounterPlugin} installed). Metrics of several scenarios,
+ * threads or engines can be merged. Recording is off by default and
+ * switched on e.g. by the load generator.
+ */
+public class ActivityMetrics {
+
+  public enum Kind {
+
+    WaitToAction, Action, Commands
+
+  }
+
+  private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+  // as the load generator runs many scenarios on many threads, this
+  // is a global switch, like the wall clock mode
+  private static volatile boolean recording;
+
+  private ConcurrentMap<String, Histogram[]> histograms = new ConcurrentHashMap<String, Histogram[]>();
+
+  /**
+   * Switch the recording of the metrics of scenarios started from now on
+   * on or off.
+   */
+  public static void record(boolean recording) {
+    ActivityMetrics.recording = recording;
+  }
+
+  public static boolean isRecording() {
+    return recording;
+  }
+
+  public void acted(String activityId, long waitNanos, long actionNanos, long commandNanos) {
+    Histogram[] histograms = histograms(activityId);
+    histograms[Kind.WaitToAction.ordinal()].record(waitNanos);
+    histograms[Kind.Action.ordinal()].record(actionNanos);
+    if (commandNanos >= 0)
+      histograms[Kind.Commands.ordinal()].record(commandNanos);
+  }
+
+  public void merge(ActivityMetrics other) {
+    for (Map.Entry<String, Histogram[]> entry: other.histograms.entrySet()) {
+      Histogram[] histograms = histograms(entry.getKey());
+      for (int i = 0; i < histograms.length; i++) {
+        histograms[i].merge(entry.getValue()[i]);
+      }
+    }
+  }
+
+  /**
+   * @return the histogram of the given kind for the given activity id or
+   * null in case nothing was recorded for the activity id
+   */
+  public Histogram get(String activityId, Kind kind) {
+    Histogram[] histograms = this.histograms.get(activityId);
+    return histograms != null ? histograms[kind.ordinal()] : null;
+  }
+
+  public Map<String, Histogram> get(Kind kind) {
+    Map<String, Histogram> histograms = new TreeMap<String, Histogram>();
+    for (Map.Entry<String, Histogram[]> entry: this.histograms.entrySet()) {
+      histograms.put(entry.getKey(), entry.getValue()[kind.ordinal()]);
+    }
+    return histograms;
+  }
+
+  /**
+   * Print percentiles in milliseconds per activity id and kind.
+   */
+  public void print(PrintStream out) {
+    for (Kind kind: Kind.values()) {
+      for (Map.Entry<String, Histogram> entry: get(kind).entrySet()) {
+        if (entry.getValue().count() > 0)
+          out.println(line(kind.name(), entry.getKey(), entry.getValue()));
+      }
+    }
+  }
+
+  public static String line(String kind, String name, Histogram histogram) {
+    StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%-12s %-30s n=%-8d", kind, name, histogram.count()));
+    for (double percentile: PERCENTILES) {
+      line.append(String.format(Locale.ROOT, " p%s=%.3fms",
+          percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile),
+          histogram.percentile(percentile) / 1e6));
+    }
+    line.append(String.format(Locale.ROOT, " max=%.3fms", histogram.max() / 1e6));
+    return line.toString();
+  }
+
+  private Histogram[] histograms(String activityId) {
+    Histogram[] histograms = this.histograms.get(activityId);
+    if (histograms == null) {
+      histograms = new Histogram[Kind.values().length];
+      for (int i = 0; i < histograms.length; i++) {
+        histograms[i] = new Histogram();
+      }
+      Histogram[] existing = this.histograms.putIfAbsent(activityId, histograms);
+      if (existing != null)
+        histograms = existing;
+    }
+    return histograms;
+  }
+
+}
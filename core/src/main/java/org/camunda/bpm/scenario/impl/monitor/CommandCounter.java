@@ -0,0 +1,112 @@
+package org.camunda.bpm.scenario.impl.monitor;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the engine commands executed, in total and per command class.
+ * As every query and every service call is executed as a command, this
+ * tells e.g. how many round trips to the engine a scenario step needs.
+ * Also measures the wall time spent in (outermost) commands per thread,
+ * so that it can be attributed to e.g. the action executed by a scenario.
+ * Installed with the {@link CommandCounterPlugin}.
+ */
+public class CommandCounter extends CommandInterceptor {
+
+  // per thread: depth of nested commands and nanoseconds spent in commands
+  private static final ThreadLocal<long[]> thread = new ThreadLocal<long[]>() {
+    @Override
+    protected long[] initialValue() {
+      return new long[2];
+    }
+  };
+
+  private AtomicLong total = new AtomicLong();
+  private ConcurrentMap<String, AtomicLong> counts = new ConcurrentHashMap<String, AtomicLong>();
+
+  @Override
+  public <T> T execute(Command<T> command) {
+    total.incrementAndGet();
+    String name = command.getClass().getName();
+    AtomicLong count = counts.get(name);
+    if (count == null) {
+      AtomicLong existing = counts.putIfAbsent(name, count = new AtomicLong());
+      if (existing != null)
+        count = existing;
+    }
+    count.incrementAndGet();
+    long[] nanos = thread.get();
+    long started = nanos[0]++ == 0 ? System.nanoTime() : -1;
+    try {
+      return next.execute(command);
+    } finally {
+      nanos[0]--;
+      if (started >= 0)
+        nanos[1] += System.nanoTime() - started;
+    }
+  }
+
+  /**
+   * @return nanoseconds the current thread spent in engine commands so far
+   * or -1 in case no command counter is installed with the given engine
+   */
+  public static long threadNanos(ProcessEngine processEngine) {
+    return isInstalled(processEngine) ? thread.get()[1] : -1;
+  }
+
+  /**
+   * @return true in case a command counter is installed with the given engine
+   */
+  public static boolean isInstalled(ProcessEngine processEngine) {
+    List<CommandInterceptor> interceptors = ((ProcessEngineImpl) processEngine)
+        .getProcessEngineConfiguration().getCustomPreCommandInterceptorsTxRequired();
+    if (interceptors != null) {
+      for (CommandInterceptor interceptor: interceptors) {
+        if (interceptor instanceof CommandCounter)
+          return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return number of commands executed since the last reset
+   */
+  public long count() {
+    return total.get();
+  }
+
+  /**
+   * @return number of commands of the given class executed since the last reset
+   */
+  public long count(Class<?> commandClass) {
+    AtomicLong count = counts.get(commandClass.getName());
+    return count != null ? count.get() : 0;
+  }
+
+  /**
+   * @return number of commands executed since the last reset per command class name
+   */
+  public Map<String, Long> counts() {
+    Map<String, Long> counts = new TreeMap<String, Long>();
+    for (Map.Entry<String, AtomicLong> entry: this.counts.entrySet()) {
+      counts.put(entry.getKey(), entry.getValue().get());
+    }
+    return counts;
+  }
+
+  public void reset() {
+    total.set(0);
+    counts.clear();
+  }
+
+}
@@ -0,0 +1,41 @@
+package org.camunda.bpm.scenario.impl.monitor;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Installs a {@link CommandCounter} in front of the engine's transaction
+ * requiring command interceptor chain, which all services use.
+ */
+public class CommandCounterPlugin implements ProcessEnginePlugin {
+
+  private CommandCounter counter = new CommandCounter();
+
+  public CommandCounter getCounter() {
+    return counter;
+  }
+
+  @Override
+  public void preInit(ProcessEngineConfigurationImpl configuration) {
+    List<CommandInterceptor> interceptors = configuration.getCustomPreCommandInterceptorsTxRequired();
+    if (interceptors == null) {
+      interceptors = new ArrayList<CommandInterceptor>();
+      configuration.setCustomPreCommandInterceptorsTxRequired(interceptors);
+    }
+    interceptors.add(counter);
+  }
+
+  @Override
+  public void postInit(ProcessEngineConfigurationImpl configuration) {
+  }
+
+  @Override
+  public void postProcessEngineBuild(ProcessEngine processEngine) {
+  }
+
+}
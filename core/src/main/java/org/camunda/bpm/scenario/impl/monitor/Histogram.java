@@ -0,0 +1,110 @@
+package org.camunda.bpm.scenario.impl.monitor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed memory histogram of non negative long values (e.g. latencies
+ * in nanoseconds) with log-linear buckets: every power of two range is
+ * split into {@value #SUB_BUCKETS} linear sub buckets, which limits the
+ * relative error of reported values to about 3% over the whole range
+ * of long values, while needing less than 16kB. Recording is lock free
+ * and thread safe, histograms recorded by different threads or engines
+ * can be merged.
+ */
+public class Histogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int LENGTH = index(Long.MAX_VALUE) + 1;
+
+  private AtomicLongArray counts = new AtomicLongArray(LENGTH);
+  private AtomicLong count = new AtomicLong();
+  private AtomicLong sum = new AtomicLong();
+  private AtomicLong max = new AtomicLong();
+
+  public void record(long value) {
+    if (value < 0)
+      value = 0;
+    counts.incrementAndGet(index(value));
+    count.incrementAndGet();
+    sum.addAndGet(value);
+    long current;
+    while (value > (current = max.get()) && !max.compareAndSet(current, value));
+  }
+
+  /**
+   * Add all values recorded by the other histogram to this one.
+   */
+  public void merge(Histogram other) {
+    for (int i = 0; i < LENGTH; i++) {
+      long c = other.counts.get(i);
+      if (c > 0)
+        counts.addAndGet(i, c);
+    }
+    count.addAndGet(other.count.get());
+    sum.addAndGet(other.sum.get());
+    long value = other.max.get();
+    long current;
+    while (value > (current = max.get()) && !max.compareAndSet(current, value));
+  }
+
+  public long count() {
+    return count.get();
+  }
+
+  public long max() {
+    return max.get();
+  }
+
+  public double mean() {
+    long n = count.get();
+    return n > 0 ? (double) sum.get() / n : 0;
+  }
+
+  /**
+   * @param percentile between 0 and 100
+   * @return the highest value equivalent (i.e. in the same bucket) to the
+   * value at the given percentile, but never more than the maximum value
+   * recorded
+   */
+  public long percentile(double percentile) {
+    long n = count.get();
+    if (n == 0)
+      return 0;
+    long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * n));
+    long seen = 0;
+    for (int i = 0; i < LENGTH; i++) {
+      seen += counts.get(i);
+      if (seen >= rank)
+        return Math.min(highest(i), max.get());
+    }
+    return max.get();
+  }
+
+  public long sizeInBytes() {
+    return LENGTH * 8L + 4 * 16;
+  }
+
+  static int index(long value) {
+    if (value < 2 * SUB_BUCKETS)
+      return (int) value;
+    int bucket = 64 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS + 1);
+    return bucket * SUB_BUCKETS + (int) (value >>> bucket);
+  }
+
+  static long lowest(int index) {
+    if (index < 2 * SUB_BUCKETS)
+      return index;
+    int bucket = index / SUB_BUCKETS - 1;
+    return (long) (index - bucket * SUB_BUCKETS) << bucket;
+  }
+
+  static long highest(int index) {
+    if (index < 2 * SUB_BUCKETS)
+      return index;
+    int bucket = index / SUB_BUCKETS - 1;
+    return lowest(index) + (1L << bucket) - 1;
+  }
+
+}
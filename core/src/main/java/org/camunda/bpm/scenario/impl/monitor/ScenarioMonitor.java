@@ -0,0 +1,206 @@
+package org.camunda.bpm.scenario.impl.monitor;
+
+import org.camunda.bpm.scenario.impl.util.Log;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects live statistics of the scenarios executed in this JVM and
+ * exposes them as {@link ScenarioMonitorMXBean}, so that e.g. a stalled
+ * scenario can be spotted with JConsole or VisualVM while it runs.
+ * Monitoring is off by default and switched on with the system property
+ * {@value #JMX_PROPERTY}.
+ */
+public class ScenarioMonitor implements ScenarioMonitorMXBean {
+
+  public static final String JMX_PROPERTY = "org.camunda.bpm.scenario.jmx";
+  public static final String OBJECT_NAME = "org.camunda.bpm.scenario:type=ScenarioMonitor";
+
+  private static final int WINDOW = 10;
+
+  private static ScenarioMonitor instance;
+
+  private AtomicInteger sequence = new AtomicInteger();
+  private Map<Object, Run> runs = new ConcurrentHashMap<Object, Run>();
+  private AtomicLong ended = new AtomicLong();
+  private AtomicLong steps = new AtomicLong();
+  private AtomicInteger deferreds = new AtomicInteger();
+
+  // steps counted per second of the last WINDOW seconds in a ring
+  private long[] windowSeconds = new long[WINDOW];
+  private long[] windowSteps = new long[WINDOW];
+
+  private volatile long slowest;
+  private volatile String slowestStep;
+
+  /**
+   * @return the monitor registered with the platform MBean server or
+   * null in case monitoring is not switched on
+   */
+  public static synchronized ScenarioMonitor get() {
+    if (instance == null && Boolean.getBoolean(JMX_PROPERTY)) {
+      ScenarioMonitor monitor = new ScenarioMonitor();
+      try {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name))
+          server.unregisterMBean(name);
+        server.registerMBean(monitor, name);
+        instance = monitor;
+      } catch (Exception e) {
+        Log.warn("Could not register " + OBJECT_NAME + ": " + e.getMessage());
+        System.clearProperty(JMX_PROPERTY);
+      }
+    }
+    return instance;
+  }
+
+  public void started(Object scenario) {
+    runs.put(scenario, new Run("Scenario #" + sequence.incrementAndGet()));
+  }
+
+  /**
+   * Record the runners and the simulated time of the step about to
+   * be executed, so that they are visible while it executes.
+   */
+  public void stepping(Object scenario, int runners, Date time) {
+    Run run = runs.get(scenario);
+    if (run != null) {
+      run.runners = runners;
+      run.time = time.getTime();
+    }
+  }
+
+  public void step(Object scenario, String description, long nanos) {
+    Run run = runs.get(scenario);
+    steps.incrementAndGet();
+    counted(second());
+    if (nanos > slowest) {
+      synchronized (this) {
+        if (nanos > slowest) {
+          slowest = nanos;
+          slowestStep = (run != null ? run.name + ": " : "") + description;
+        }
+      }
+    }
+  }
+
+  public void ended(Object scenario) {
+    if (runs.remove(scenario) != null)
+      ended.incrementAndGet();
+  }
+
+  public void deferred() {
+    deferreds.incrementAndGet();
+  }
+
+  public void undeferred() {
+    deferreds.decrementAndGet();
+  }
+
+  @Override
+  public int getActiveScenarios() {
+    return runs.size();
+  }
+
+  @Override
+  public int getActiveRunners() {
+    int runners = 0;
+    for (Run run: runs.values()) {
+      runners += run.runners;
+    }
+    return runners;
+  }
+
+  @Override
+  public long getEndedScenarios() {
+    return ended.get();
+  }
+
+  @Override
+  public long getSteps() {
+    return steps.get();
+  }
+
+  @Override
+  public synchronized double getStepsPerSecond() {
+    long second = second();
+    long steps = 0;
+    for (int i = 0; i < WINDOW; i++) {
+      // just the completed seconds of the window
+      if (windowSeconds[i] < second && windowSeconds[i] >= second - WINDOW)
+        steps += windowSteps[i];
+    }
+    return (double) steps / WINDOW;
+  }
+
+  @Override
+  public Map<String, Date> getSimulatedTimes() {
+    Map<String, Date> times = new TreeMap<String, Date>();
+    for (Run run: runs.values()) {
+      if (run.time != null)
+        times.put(run.name, new Date(run.time));
+    }
+    return times;
+  }
+
+  @Override
+  public int getPendingDeferreds() {
+    return deferreds.get();
+  }
+
+  @Override
+  public double getSlowestStepMillis() {
+    return slowest / 1e6;
+  }
+
+  @Override
+  public String getSlowestStep() {
+    return slowestStep;
+  }
+
+  @Override
+  public synchronized void reset() {
+    ended.set(0);
+    steps.set(0);
+    Arrays.fill(windowSteps, 0);
+    slowest = 0;
+    slowestStep = null;
+  }
+
+  private synchronized void counted(long second) {
+    int i = (int) (((second % WINDOW) + WINDOW) % WINDOW);
+    if (windowSeconds[i] != second) {
+      windowSeconds[i] = second;
+      windowSteps[i] = 0;
+    }
+    windowSteps[i]++;
+  }
+
+  private static long second() {
+    return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+  }
+
+  private static class Run {
+
+    private String name;
+    private volatile int runners;
+    private volatile Long time;
+
+    private Run(String name) {
+      this.name = name;
+    }
+
+  }
+
+}
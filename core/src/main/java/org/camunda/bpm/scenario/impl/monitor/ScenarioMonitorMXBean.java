@@ -0,0 +1,66 @@
+package org.camunda.bpm.scenario.impl.monitor;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Live statistics of the scenarios executed in this JVM, registered as
+ * {@value ScenarioMonitor#OBJECT_NAME} if the system property
+ * {@value ScenarioMonitor#JMX_PROPERTY} is set to {@code true}.
+ */
+public interface ScenarioMonitorMXBean {
+
+  /**
+   * @return number of scenarios currently executing
+   */
+  int getActiveScenarios();
+
+  /**
+   * @return number of process runners of the scenarios currently executing
+   */
+  int getActiveRunners();
+
+  /**
+   * @return number of scenarios which ended (successfully or not) since
+   * monitoring started
+   */
+  long getEndedScenarios();
+
+  /**
+   * @return number of steps executed since monitoring started
+   */
+  long getSteps();
+
+  /**
+   * @return steps executed per second, averaged over the last ten
+   * seconds
+   */
+  double getStepsPerSecond();
+
+  /**
+   * @return current simulated time per scenario currently executing
+   */
+  Map<String, Date> getSimulatedTimes();
+
+  /**
+   * @return number of deferred actions waiting to be executed
+   */
+  int getPendingDeferreds();
+
+  /**
+   * @return wall time in milliseconds of the slowest step so far
+   */
+  double getSlowestStepMillis();
+
+  /**
+   * @return description of the slowest step so far
+   */
+  String getSlowestStep();
+
+  /**
+   * Forget about the statistics collected so far, except for the
+   * scenarios currently executing.
+   */
+  void reset();
+
+}
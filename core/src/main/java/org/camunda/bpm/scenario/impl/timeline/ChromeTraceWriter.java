@@ -0,0 +1,118 @@
+package org.camunda.bpm.scenario.impl.timeline;
+
+import org.camunda.bpm.scenario.impl.util.Strings;
+import org.camunda.bpm.scenario.timeline.TimelineEntry;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a timeline in the Chrome trace event format, to be opened with
+ * chrome://tracing or any other viewer understanding that format. The
+ * trace shows two "processes": the first one with a track per process
+ * instance showing activity instances in simulated time, the second one
+ * with the wall time needed per scheduler step and per action executed
+ * on behalf of the scenario.
+ */
+public class ChromeTraceWriter {
+
+  private static final int SIMULATED = 1;
+  private static final int WALL = 2;
+
+  private static final int STEPS = 1;
+  private static final int ACTIONS = 2;
+
+  private TimelineImpl timeline;
+  private Writer writer;
+  private boolean first = true;
+
+  public ChromeTraceWriter(TimelineImpl timeline, Writer writer) {
+    this.timeline = timeline;
+    this.writer = writer;
+  }
+
+  public void write() throws IOException {
+    writer.write("{\"traceEvents\":[\n");
+    writeSimulatedTime();
+    writeWallTime();
+    writer.write("\n],\"displayTimeUnit\":\"ms\"}");
+    writer.flush();
+  }
+
+  private void writeSimulatedTime() throws IOException {
+    metadata("process_name", SIMULATED, null, "Simulated time");
+    List<TimelineEntry> entries = timeline.entries();
+    Map<String, Integer> tracks = new HashMap<String, Integer>();
+    for (int instance = 0; instance < timeline.instances(); instance++) {
+      tracks.put(timeline.instanceId(instance), instance + 1);
+    }
+    long origin = Long.MAX_VALUE;
+    long last = Long.MIN_VALUE;
+    for (TimelineEntry entry: entries) {
+      origin = Math.min(origin, entry.getStartTime().getTime());
+      last = Math.max(last, entry.getStartTime().getTime());
+      if (entry.isFinished())
+        last = Math.max(last, entry.getEndTime().getTime());
+    }
+    Map<Integer, Boolean> named = new HashMap<Integer, Boolean>();
+    for (TimelineEntry entry: entries) {
+      int track = tracks.get(entry.getProcessInstanceId());
+      if (!named.containsKey(track)) {
+        metadata("thread_name", SIMULATED, track, entry.getProcessDefinitionKey() + " # " + entry.getProcessInstanceId());
+        named.put(track, true);
+      }
+      long start = entry.getStartTime().getTime();
+      // activity instances not finished during the run last until its end
+      long end = entry.isFinished() ? entry.getEndTime().getTime() : last;
+      event(entry.getActivityId(), entry.getActivityType(), SIMULATED, track,
+          Long.toString((start - origin) * 1000), Long.toString((end - start) * 1000),
+          "\"finished\":" + entry.isFinished() + ",\"canceled\":" + entry.isCanceled());
+    }
+  }
+
+  private void writeWallTime() throws IOException {
+    TimelineSteps steps = timeline.steps();
+    metadata("process_name", WALL, null, "Wall time");
+    metadata("thread_name", WALL, STEPS, "Scheduler steps");
+    metadata("thread_name", WALL, ACTIONS, "Actions");
+    for (int step = 0; step < steps.size(); step++) {
+      String args = "\"processInstanceId\":\"" + Strings.escapeJson(timeline.instanceId(steps.instance(step))) + "\""
+          + ",\"simulatedTime\":" + steps.time(step);
+      event(steps.name(step), steps.type(step), WALL, STEPS,
+          micros(steps.wallStart(step)), micros(steps.wallEnd(step) - steps.wallStart(step)), args);
+      if (steps.hasAction(step)) {
+        event(steps.name(step), steps.type(step), WALL, ACTIONS,
+            micros(steps.actionWallStart(step)), micros(steps.actionWallEnd(step) - steps.actionWallStart(step)), args);
+      }
+    }
+  }
+
+  private void metadata(String name, int pid, Integer tid, String value) throws IOException {
+    separate();
+    writer.write("{\"name\":\"" + name + "\",\"ph\":\"M\",\"pid\":" + pid
+        + (tid != null ? ",\"tid\":" + tid : "")
+        + ",\"args\":{\"name\":\"" + Strings.escapeJson(value) + "\"}}");
+  }
+
+  private void event(String name, String category, int pid, int tid, String ts, String dur, String args) throws IOException {
+    separate();
+    writer.write("{\"name\":\"" + Strings.escapeJson(name) + "\",\"cat\":\"" + Strings.escapeJson(category)
+        + "\",\"ph\":\"X\",\"pid\":" + pid + ",\"tid\":" + tid + ",\"ts\":" + ts + ",\"dur\":" + dur
+        + ",\"args\":{" + args + "}}");
+  }
+
+  private void separate() throws IOException {
+    if (!first)
+      writer.write(",\n");
+    first = false;
+  }
+
+  private static String micros(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+  }
+
+}
@@ -0,0 +1,58 @@
+package org.camunda.bpm.scenario.impl.timeline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns strings recurring in a timeline - activity ids, activity
+ * types and process definition keys - and refers to them by number.
+ */
+public class Symbols {
+
+  private Map<String, Integer> ids = new HashMap<String, Integer>();
+  private List<String> symbols = new ArrayList<String>();
+  private long chars;
+
+  /**
+   * @return the number of the symbol provided, the symbol is interned
+   * in case it is not yet known.
+   */
+  public int id(String symbol) {
+    Integer id = ids.get(symbol);
+    if (id == null) {
+      id = symbols.size();
+      symbols.add(symbol);
+      ids.put(symbol, id);
+      chars += symbol != null ? symbol.length() : 0;
+    }
+    return id;
+  }
+
+  /**
+   * @return the number of the symbol provided or -1 in case the
+   * symbol is not known.
+   */
+  public int lookup(String symbol) {
+    Integer id = ids.get(symbol);
+    return id != null ? id : -1;
+  }
+
+  public String get(int id) {
+    return symbols.get(id);
+  }
+
+  public int size() {
+    return symbols.size();
+  }
+
+  /**
+   * @return a rough estimate of the heap occupied by the interned
+   * strings and the maps referring to them.
+   */
+  public long sizeInBytes() {
+    return symbols.size() * 96L + chars * 2;
+  }
+
+}
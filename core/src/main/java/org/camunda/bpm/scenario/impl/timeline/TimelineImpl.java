@@ -0,0 +1,452 @@
+package org.camunda.bpm.scenario.impl.timeline;
+
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.timeline.Timeline;
+import org.camunda.bpm.scenario.timeline.TimelineEntry;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the timeline in primitive columns - one row per activity
+ * instance - and refers to activity ids, activity types and process
+ * definition keys via interned {@link Symbols}. Long simulations
+ * therefore pay a few dozen bytes per recorded activity instance
+ * instead of an object graph of strings and dates.
+ *
+ * Once the heap columns hold a threshold of rows, they are spilled to
+ * a memory-mapped {@link TimelineSegment} and the heap columns are
+ * reused for the following rows. The threshold defaults to about a
+ * million rows and may be configured by means of the system property
+ * {@value #THRESHOLD_PROPERTY}.
+ */
+public class TimelineImpl implements Timeline {
+
+  public static final String THRESHOLD_PROPERTY = "org.camunda.bpm.scenario.timeline.threshold";
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int DEFAULT_THRESHOLD = 1 << 20;
+
+  private static final byte CANCELED = 1;
+
+  private List<String> instanceIds = new ArrayList<String>();
+  private List<ProcessScenario> instanceScenarios = new ArrayList<ProcessScenario>();
+
+  // symbols for activity ids, types and definition keys and a table
+  // of "activities" combining them. One activity per definition key
+  // and activity id is enough, as the latter determines the type.
+  private Symbols symbols = new Symbols();
+  private Map<Long, Integer> activities = new HashMap<Long, Integer>();
+  private int[] activityIds = new int[INITIAL_CAPACITY];
+  private int[] activityTypes = new int[INITIAL_CAPACITY];
+  private int[] definitionKeys = new int[INITIAL_CAPACITY];
+  private int activityCount;
+
+  // the rows, one per activity instance in the order of their start,
+  // the heap columns hold the rows not yet spilled to the segments.
+  private int threshold;
+  private List<TimelineSegment> segments = new ArrayList<TimelineSegment>();
+  private int spilled;
+  private int[] activity = new int[INITIAL_CAPACITY];
+  private int[] instance = new int[INITIAL_CAPACITY];
+  private long[] startTime = new long[INITIAL_CAPACITY];
+  private long[] endTime = new long[INITIAL_CAPACITY];
+  private int[] finishedAt = new int[INITIAL_CAPACITY];
+  private byte[] flags = new byte[INITIAL_CAPACITY];
+  private int size;
+
+  private TimelineSteps steps = new TimelineSteps(symbols);
+
+  public TimelineImpl() {
+    this(Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD));
+  }
+
+  public TimelineImpl(int threshold) {
+    if (threshold < 1 || threshold > Integer.MAX_VALUE / TimelineSegment.RECORD)
+      throw new IllegalArgumentException("Timeline threshold must be between 1 and "
+          + Integer.MAX_VALUE / TimelineSegment.RECORD + " rows.");
+    this.threshold = threshold;
+  }
+
+  /**
+   * Register a process instance run by the scenario.
+   *
+   * @return the index under which the process instance is known to
+   * this timeline.
+   */
+  public int instance(String processInstanceId, ProcessScenario scenario) {
+    instanceIds.add(processInstanceId);
+    instanceScenarios.add(scenario);
+    return instanceIds.size() - 1;
+  }
+
+  /**
+   * Record the start of an activity instance.
+   *
+   * @return the row under which the activity instance is recorded.
+   */
+  public int started(int instance, String activityId, String activityType, String processDefinitionKey, Date startTime) {
+    if (size - spilled == threshold)
+      spill();
+    if (size - spilled == this.activity.length)
+      grow();
+    int row = size - spilled;
+    this.activity[row] = activity(processDefinitionKey, activityId, activityType);
+    this.instance[row] = instance;
+    this.startTime[row] = startTime.getTime();
+    this.finishedAt[row] = -1;
+    this.flags[row] = 0;
+    return size++;
+  }
+
+  /**
+   * Record the end of the activity instance recorded under the row
+   * provided as parameter.
+   */
+  public void finished(int row, Date endTime, boolean canceled) {
+    byte flags = canceled ? CANCELED : 0;
+    if (row < spilled) {
+      segments.get(row / threshold).finished(row % threshold, endTime.getTime(), size, flags);
+    } else {
+      this.endTime[row - spilled] = endTime.getTime();
+      this.finishedAt[row - spilled] = size;
+      this.flags[row - spilled] = flags;
+    }
+  }
+
+  /**
+   * Mark the start of the scenario run, wall times of the steps
+   * are measured relative to it.
+   */
+  public void run() {
+    steps.run(System.nanoTime());
+  }
+
+  /**
+   * Record the wall time needed for the action executed on behalf of
+   * the scenario during the current step.
+   */
+  public void acted(long started, long ended) {
+    steps.acted(started, ended);
+  }
+
+  /**
+   * Record the wall time needed to poll the runners for the next
+   * executable during the current step.
+   */
+  public void polled(long nanos) {
+    steps.polled(nanos);
+  }
+
+  /**
+   * Record wall time spent to keep track of the activity instances
+   * executed (see ProcessRunnerImpl.setExecuted()) during the current step.
+   */
+  public void bookkept(long nanos) {
+    steps.bookkept(nanos);
+  }
+
+  /**
+   * Record a scheduler step of the scenario run.
+   *
+   * @param instance the index of the process instance the step acted on
+   * @param type the type of executable, e.g. an activity type
+   * @param name the name of the executable, e.g. an activity id
+   * @param time the simulated time of the step
+   * @param started wall time in nanoseconds the step was started at
+   * @param ended wall time in nanoseconds the step was ended at
+   */
+  public void step(int instance, String type, String name, Date time, long started, long ended) {
+    steps.step(instance, type, name, time, started, ended);
+  }
+
+  public TimelineSteps steps() {
+    return steps;
+  }
+
+  public String instanceId(int instance) {
+    return instance >= 0 ? instanceIds.get(instance) : null;
+  }
+
+  public int instances() {
+    return instanceIds.size();
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Release the memory-mapped segments and delete their files. Rows
+   * spilled to them must not be accessed afterwards.
+   */
+  public void close() {
+    for (TimelineSegment segment: segments) {
+      segment.close();
+    }
+  }
+
+  /**
+   * @return the number of rows spilled to memory-mapped segments.
+   */
+  public int spilled() {
+    return spilled;
+  }
+
+  /**
+   * @return an estimate of the heap occupied by this timeline, not
+   * counting the rows spilled to memory-mapped segments.
+   */
+  public long sizeInBytes() {
+    long columns = activity.length * (4L + 4L + 8L + 8L + 4L + 1L);
+    long table = activityIds.length * (4L + 4L + 4L) + activities.size() * 64L;
+    long instances = instanceIds.size() * 120L;
+    return columns + table + instances + symbols.sizeInBytes() + steps.sizeInBytes();
+  }
+
+  @Override
+  public List<TimelineEntry> entries() {
+    return new Entries(null, size);
+  }
+
+  @Override
+  public List<TimelineEntry> entries(ProcessScenario scenario) {
+    Rows rows = new Rows();
+    for (int row = 0; row < size; row++) {
+      if (instanceScenarios.get(instance(row)) == scenario)
+        rows.add(row);
+    }
+    return rows.entries();
+  }
+
+  @Override
+  public List<TimelineEntry> entries(ProcessInstance processInstance) {
+    Rows rows = new Rows();
+    int index = instanceIds.indexOf(processInstance.getId());
+    for (int row = 0; index >= 0 && row < size; row++) {
+      if (instance(row) == index)
+        rows.add(row);
+    }
+    return rows.entries();
+  }
+
+  @Override
+  public List<TimelineEntry> entries(String activityId) {
+    Rows rows = new Rows();
+    int symbol = symbols.lookup(activityId);
+    if (symbol >= 0) {
+      for (int row = 0; row < size; row++) {
+        if (activityIds[activity(row)] == symbol)
+          rows.add(row);
+      }
+    }
+    return rows.entries();
+  }
+
+  @Override
+  public boolean hasStarted(String activityId) {
+    int symbol = symbols.lookup(activityId);
+    for (int row = 0; symbol >= 0 && row < size; row++) {
+      if (activityIds[activity(row)] == symbol)
+        return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean hasFinished(String activityId) {
+    int symbol = symbols.lookup(activityId);
+    for (int row = 0; symbol >= 0 && row < size; row++) {
+      if (activityIds[activity(row)] == symbol && finishedAt(row) >= 0)
+        return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean hasPassedBefore(String activityId, String otherActivityId) {
+    int symbol = symbols.lookup(activityId);
+    int otherSymbol = symbols.lookup(otherActivityId);
+    if (symbol < 0 || otherSymbol < 0)
+      return false;
+    // a row tells how many activity instances were started before it,
+    // the finishedAt column how many were started before its end.
+    int passed = Integer.MAX_VALUE;
+    int reached = -1;
+    for (int row = 0; row < size; row++) {
+      int id = activityIds[activity(row)];
+      if (id == symbol && finishedAt(row) >= 0)
+        passed = Math.min(passed, finishedAt(row));
+      if (id == otherSymbol)
+        reached = row;
+    }
+    return passed <= reached;
+  }
+
+  private int activity(String processDefinitionKey, String activityId, String activityType) {
+    int definitionKey = symbols.id(processDefinitionKey);
+    int id = symbols.id(activityId);
+    Long key = ((long) definitionKey << 32) | (id & 0xffffffffL);
+    Integer activity = activities.get(key);
+    if (activity == null) {
+      if (activityCount == activityIds.length) {
+        activityIds = Arrays.copyOf(activityIds, activityCount * 2);
+        activityTypes = Arrays.copyOf(activityTypes, activityCount * 2);
+        definitionKeys = Arrays.copyOf(definitionKeys, activityCount * 2);
+      }
+      activityIds[activityCount] = id;
+      activityTypes[activityCount] = symbols.id(activityType);
+      definitionKeys[activityCount] = definitionKey;
+      activity = activityCount++;
+      activities.put(key, activity);
+    }
+    return activity;
+  }
+
+  private int activity(int row) {
+    return row < spilled ? segments.get(row / threshold).activity(row % threshold) : activity[row - spilled];
+  }
+
+  private int instance(int row) {
+    return row < spilled ? segments.get(row / threshold).instance(row % threshold) : instance[row - spilled];
+  }
+
+  private long startTime(int row) {
+    return row < spilled ? segments.get(row / threshold).startTime(row % threshold) : startTime[row - spilled];
+  }
+
+  private long endTime(int row) {
+    return row < spilled ? segments.get(row / threshold).endTime(row % threshold) : endTime[row - spilled];
+  }
+
+  private int finishedAt(int row) {
+    return row < spilled ? segments.get(row / threshold).finishedAt(row % threshold) : finishedAt[row - spilled];
+  }
+
+  private byte flags(int row) {
+    return row < spilled ? segments.get(row / threshold).flags(row % threshold) : flags[row - spilled];
+  }
+
+  private void spill() {
+    TimelineSegment segment = new TimelineSegment(threshold);
+    for (int row = 0; row < threshold; row++) {
+      segment.append(row, activity[row], instance[row], startTime[row], endTime[row], finishedAt[row], flags[row]);
+    }
+    segments.add(segment);
+    spilled += threshold;
+  }
+
+  private void grow() {
+    int length = activity.length;
+    int capacity = Math.min(length + (length >> 1), threshold);
+    activity = Arrays.copyOf(activity, capacity);
+    instance = Arrays.copyOf(instance, capacity);
+    startTime = Arrays.copyOf(startTime, capacity);
+    endTime = Arrays.copyOf(endTime, capacity);
+    finishedAt = Arrays.copyOf(finishedAt, capacity);
+    flags = Arrays.copyOf(flags, capacity);
+  }
+
+  private class Rows {
+
+    int[] rows = new int[16];
+    int size;
+
+    void add(int row) {
+      if (size == rows.length)
+        rows = Arrays.copyOf(rows, size * 2);
+      rows[size++] = row;
+    }
+
+    List<TimelineEntry> entries() {
+      return new Entries(rows, size);
+    }
+
+  }
+
+  private class Entries extends AbstractList<TimelineEntry> {
+
+    private int[] rows;
+    private int size;
+
+    Entries(int[] rows, int size) {
+      this.rows = rows;
+      this.size = size;
+    }
+
+    @Override
+    public TimelineEntry get(int index) {
+      if (index < 0 || index >= size)
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      return new Entry(rows != null ? rows[index] : index);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+  }
+
+  private class Entry implements TimelineEntry {
+
+    private int row;
+
+    Entry(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public String getActivityId() {
+      return symbols.get(activityIds[activity(row)]);
+    }
+
+    @Override
+    public String getActivityType() {
+      return symbols.get(activityTypes[activity(row)]);
+    }
+
+    @Override
+    public String getProcessDefinitionKey() {
+      return symbols.get(definitionKeys[activity(row)]);
+    }
+
+    @Override
+    public String getProcessInstanceId() {
+      return instanceIds.get(instance(row));
+    }
+
+    @Override
+    public Date getStartTime() {
+      return new Date(startTime(row));
+    }
+
+    @Override
+    public Date getEndTime() {
+      return isFinished() ? new Date(endTime(row)) : null;
+    }
+
+    @Override
+    public boolean isFinished() {
+      return finishedAt(row) >= 0;
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return (flags(row) & CANCELED) != 0;
+    }
+
+    @Override
+    public String toString() {
+      return getActivityType() + " " + getActivityId() + " @ " + getProcessDefinitionKey() + " # " + getProcessInstanceId();
+    }
+
+  }
+
+}
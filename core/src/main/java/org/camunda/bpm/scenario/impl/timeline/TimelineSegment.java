@@ -0,0 +1,139 @@
+package org.camunda.bpm.scenario.impl.timeline;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A fixed number of timeline rows spilled to a memory-mapped file.
+ * Rows are appended once, when the heap columns of the timeline are
+ * full. Afterwards just the end of a still unfinished activity instance
+ * is written in place. Reading accesses single columns of single rows,
+ * so scanning a segment never materialises objects on the heap. Once
+ * closed, the mapping is released and the file deleted.
+ */
+public class TimelineSegment {
+
+  private static final int ACTIVITY = 0;
+  private static final int INSTANCE = 4;
+  private static final int START_TIME = 8;
+  private static final int END_TIME = 16;
+  private static final int FINISHED_AT = 24;
+  private static final int FLAGS = 28;
+
+  public static final int RECORD = 29;
+
+  private File file;
+  private MappedByteBuffer buffer;
+
+  public TimelineSegment(int rows) {
+    try {
+      file = File.createTempFile("scenario-timeline-", ".segment");
+      RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+      try {
+        // the mapping stays valid after the channel is closed
+        buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, (long) rows * RECORD);
+      } finally {
+        randomAccessFile.close();
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not spill scenario timeline to disk.", e);
+    }
+  }
+
+  public void append(int row, int activity, int instance, long startTime, long endTime, int finishedAt, byte flags) {
+    int offset = row * RECORD;
+    MappedByteBuffer buffer = buffer();
+    buffer.putInt(offset + ACTIVITY, activity);
+    buffer.putInt(offset + INSTANCE, instance);
+    buffer.putLong(offset + START_TIME, startTime);
+    buffer.putLong(offset + END_TIME, endTime);
+    buffer.putInt(offset + FINISHED_AT, finishedAt);
+    buffer.put(offset + FLAGS, flags);
+  }
+
+  public void finished(int row, long endTime, int finishedAt, byte flags) {
+    int offset = row * RECORD;
+    MappedByteBuffer buffer = buffer();
+    buffer.putLong(offset + END_TIME, endTime);
+    buffer.putInt(offset + FINISHED_AT, finishedAt);
+    buffer.put(offset + FLAGS, flags);
+  }
+
+  public int activity(int row) {
+    return buffer().getInt(row * RECORD + ACTIVITY);
+  }
+
+  public int instance(int row) {
+    return buffer().getInt(row * RECORD + INSTANCE);
+  }
+
+  public long startTime(int row) {
+    return buffer().getLong(row * RECORD + START_TIME);
+  }
+
+  public long endTime(int row) {
+    return buffer().getLong(row * RECORD + END_TIME);
+  }
+
+  public int finishedAt(int row) {
+    return buffer().getInt(row * RECORD + FINISHED_AT);
+  }
+
+  public byte flags(int row) {
+    return buffer().get(row * RECORD + FLAGS);
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Release the mapping and delete the file. The segment must not be
+   * accessed afterwards.
+   */
+  public void close() {
+    if (buffer != null) {
+      unmap(buffer);
+      buffer = null;
+      // e.g. on Windows a file still mapped can't be deleted
+      if (!file.delete())
+        file.deleteOnExit();
+    }
+  }
+
+  private MappedByteBuffer buffer() {
+    if (buffer == null)
+      throw new IllegalStateException("Scenario timeline has already been closed.");
+    return buffer;
+  }
+
+  private static void unmap(MappedByteBuffer buffer) {
+    try {
+      // as of Java 9, the cleaner of a buffer is reachable via Unsafe only
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      invokeCleaner.invoke(theUnsafe.get(null), buffer);
+    } catch (NoSuchMethodException e) {
+      try {
+        Method cleaner = buffer.getClass().getMethod("cleaner");
+        cleaner.setAccessible(true);
+        Object clean = cleaner.invoke(buffer);
+        if (clean != null)
+          clean.getClass().getMethod("clean").invoke(clean);
+      } catch (Exception ignored) {
+        // the mapping is released as soon as the buffer is garbage collected
+      }
+    } catch (Exception e) {
+      // the mapping is released as soon as the buffer is garbage collected
+    }
+  }
+
+}
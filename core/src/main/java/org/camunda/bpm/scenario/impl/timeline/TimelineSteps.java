@@ -0,0 +1,158 @@
+package org.camunda.bpm.scenario.impl.timeline;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * The scheduler steps of a scenario run - one row per executable
+ * executed - with the wall time needed for the step as a whole and
+ * for the action it executed on behalf of the scenario. Wall times
+ * are kept in nanoseconds relative to the start of the scenario run.
+ */
+public class TimelineSteps {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private Symbols symbols;
+
+  private long runStart;
+  private long actionStart = -1;
+  private long actionEnd = -1;
+  private long polled;
+  private long bookkept;
+
+  private int[] instance = new int[INITIAL_CAPACITY];
+  private int[] type = new int[INITIAL_CAPACITY];
+  private int[] name = new int[INITIAL_CAPACITY];
+  private long[] time = new long[INITIAL_CAPACITY];
+  private long[] wallStart = new long[INITIAL_CAPACITY];
+  private long[] wallEnd = new long[INITIAL_CAPACITY];
+  private long[] actionWallStart = new long[INITIAL_CAPACITY];
+  private long[] actionWallEnd = new long[INITIAL_CAPACITY];
+  private long[] polling = new long[INITIAL_CAPACITY];
+  private long[] bookkeeping = new long[INITIAL_CAPACITY];
+  private int size;
+
+  TimelineSteps(Symbols symbols) {
+    this.symbols = symbols;
+  }
+
+  void run(long nanoTime) {
+    runStart = nanoTime;
+  }
+
+  void acted(long started, long ended) {
+    actionStart = started - runStart;
+    actionEnd = ended - runStart;
+  }
+
+  void polled(long nanos) {
+    polled += nanos;
+  }
+
+  void bookkept(long nanos) {
+    bookkept += nanos;
+  }
+
+  void step(int instance, String type, String name, Date time, long started, long ended) {
+    if (size == this.instance.length)
+      grow();
+    this.instance[size] = instance;
+    this.type[size] = symbols.id(type);
+    this.name[size] = symbols.id(name);
+    this.time[size] = time.getTime();
+    this.wallStart[size] = started - runStart;
+    this.wallEnd[size] = ended - runStart;
+    this.actionWallStart[size] = actionStart;
+    this.actionWallEnd[size] = actionEnd;
+    this.polling[size] = polled;
+    this.bookkeeping[size] = bookkept;
+    actionStart = -1;
+    actionEnd = -1;
+    polled = 0;
+    bookkept = 0;
+    size++;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int instance(int step) {
+    return instance[step];
+  }
+
+  public String type(int step) {
+    return symbols.get(type[step]);
+  }
+
+  public String name(int step) {
+    return symbols.get(name[step]);
+  }
+
+  /**
+   * @return the simulated time of the step in milliseconds.
+   */
+  public long time(int step) {
+    return time[step];
+  }
+
+  public long wallStart(int step) {
+    return wallStart[step];
+  }
+
+  public long wallEnd(int step) {
+    return wallEnd[step];
+  }
+
+  /**
+   * @return true in case the step executed an action on behalf
+   * of the scenario, false in case it e.g. just executed a job.
+   */
+  public boolean hasAction(int step) {
+    return actionWallStart[step] >= 0;
+  }
+
+  public long actionWallStart(int step) {
+    return actionWallStart[step];
+  }
+
+  public long actionWallEnd(int step) {
+    return actionWallEnd[step];
+  }
+
+  /**
+   * @return wall time in nanoseconds needed to poll the runners for
+   * the executable of the step (includes part of the bookkeeping).
+   */
+  public long polling(int step) {
+    return polling[step];
+  }
+
+  /**
+   * @return wall time in nanoseconds needed to keep track of the
+   * activity instances executed during the step.
+   */
+  public long bookkeeping(int step) {
+    return bookkeeping[step];
+  }
+
+  public long sizeInBytes() {
+    return instance.length * (4L + 4L + 4L + 8L * 7);
+  }
+
+  private void grow() {
+    int capacity = size + (size >> 1);
+    instance = Arrays.copyOf(instance, capacity);
+    type = Arrays.copyOf(type, capacity);
+    name = Arrays.copyOf(name, capacity);
+    time = Arrays.copyOf(time, capacity);
+    wallStart = Arrays.copyOf(wallStart, capacity);
+    wallEnd = Arrays.copyOf(wallEnd, capacity);
+    actionWallStart = Arrays.copyOf(actionWallStart, capacity);
+    actionWallEnd = Arrays.copyOf(actionWallEnd, capacity);
+    polling = Arrays.copyOf(polling, capacity);
+    bookkeeping = Arrays.copyOf(bookkeeping, capacity);
+  }
+
+}
@@ -1,8 +1,11 @@
 package org.camunda.bpm.scenario.impl.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -33,7 +36,14 @@ public class Api {
   // maps signatures to a "supported" Boolean, true means supported.
   // false and null means not supported, but null means that a warning
   // was already logged, too. We don't want to warn a thousand times.
-  private static Map<String, Boolean> support = new HashMap<String, Boolean>();
+  private static Map<String, Boolean> support = Collections.synchronizedMap(new HashMap<String, Boolean>());
+
+  // maps signatures to the number of times the code falling back from
+  // an unsupported feature ran and the nanoseconds spent on it, in order
+  // to see which missing features cost the most. Recorded only while
+  // profiling, e.g. by a cross version benchmark.
+  private static Map<String, Usage> usage = new HashMap<String, Usage>();
+  private static volatile boolean profiling;
 
   private Api(String className, String methodName, Class<?>... parameterTypes) {
     this.className = className;
@@ -44,6 +54,59 @@ public class Api {
       support.put(signature, supported());
   }
 
+  /**
+   * Switch the recording of fallback costs on or off.
+   */
+  public static void profile(boolean enabled) {
+    profiling = enabled;
+  }
+
+  /**
+   * @return the fallbacks recorded so far, with the number of times
+   * they ran and the time spent on them
+   */
+  public static List<Usage> usage() {
+    synchronized (usage) {
+      List<Usage> copies = new ArrayList<Usage>();
+      for (Usage used: usage.values()) {
+        Usage copy = new Usage(used.signature);
+        copy.fallbacks = used.fallbacks;
+        copy.nanos = used.nanos;
+        copies.add(copy);
+      }
+      return copies;
+    }
+  }
+
+  /**
+   * Call before running the code falling back from this unsupported
+   * feature and pass the result to {@link #fellBack(long)} afterwards.
+   *
+   * @return the start of the fallback or -1 in case of not profiling
+   */
+  public long fallback() {
+    return profiling ? System.nanoTime() : -1;
+  }
+
+  /**
+   * Record the cost of the code falling back from this unsupported
+   * feature.
+   *
+   * @param started as returned by {@link #fallback()}
+   */
+  public void fellBack(long started) {
+    if (started < 0)
+      return;
+    long nanos = System.nanoTime() - started;
+    synchronized (usage) {
+      Usage used = usage.get(signature);
+      if (used == null)
+        usage.put(signature, used = new Usage(signature));
+      used.fallbacks++;
+      used.nanos += nanos;
+    }
+  }
+
   public static Api feature(String className) {
     return feature(className, null);
   }
@@ -104,6 +167,34 @@ public class Api {
     return buffer.toString();
   }
 
+  public static class Usage {
+
+    private String signature;
+    private long fallbacks;
+    private long nanos;
+
+    private Usage(String signature) {
+      this.signature = signature;
+    }
+
+    public String getSignature() {
+      return signature;
+    }
+
+    public boolean isSupported() {
+      return Boolean.TRUE.equals(support.get(signature));
+    }
+
+    public long getFallbacks() {
+      return fallbacks;
+    }
+
+    public long getNanos() {
+      return nanos;
+    }
+
+  }
+
   private boolean supported() {
     try {
       Class cls = Class.forName(className);
@@ -0,0 +1,105 @@
+package org.camunda.bpm.scenario.impl.util;
+
+import java.util.UUID;
+
+/**
+ * An engine id parsed once into a comparable key, so that executables
+ * and activity instances can be ordered without parsing their ids again
+ * for every single comparison. Supports the numeric ids of the engine's
+ * DbIdGenerator as well as the UUIDs of the StrongUuidGenerator and
+ * orders them the same way as {@link IdComparator} does.
+ */
+public final class IdKey implements Comparable<IdKey> {
+
+  private final boolean numeric;
+  private final long high;
+  private final long low;
+
+  private IdKey(boolean numeric, long high, long low) {
+    this.numeric = numeric;
+    this.high = high;
+    this.low = low;
+  }
+
+  public static IdKey of(String id) {
+    int start = id.lastIndexOf(':') + 1;
+    int length = id.length() - start;
+    if (length > 0 && length <= 18 && digits(id, start)) {
+      return new IdKey(true, 0, Long.parseLong(id.substring(start)));
+    }
+    if (length == 36 && canonical(id, start)) {
+      long high = hex(id, start, start + 8) << 32 | hex(id, start + 9, start + 13) << 16 | hex(id, start + 14, start + 18);
+      long low = hex(id, start + 19, start + 23) << 48 | hex(id, start + 24, start + 36);
+      return new IdKey(false, high, low);
+    }
+    String string = id.substring(start);
+    try {
+      return new IdKey(true, 0, Long.parseLong(string));
+    } catch (NumberFormatException e1) {
+      try {
+        UUID uuid = UUID.fromString(string);
+        return new IdKey(false, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+      } catch (IllegalArgumentException e2) {
+        throw new IllegalArgumentException("You seem to use an unsupported ID generator.", e2);
+      }
+    }
+  }
+
+  @Override
+  public int compareTo(IdKey other) {
+    if (numeric != other.numeric) {
+      throw new IllegalArgumentException("You seem to use an unsupported ID generator.");
+    }
+    if (numeric)
+      return low < other.low ? -1 : (low > other.low ? 1 : 0);
+    // same (signed) ordering as java.util.UUID.compareTo()
+    if (high != other.high)
+      return high < other.high ? -1 : 1;
+    return low < other.low ? -1 : (low > other.low ? 1 : 0);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof IdKey))
+      return false;
+    IdKey other = (IdKey) o;
+    return numeric == other.numeric && high == other.high && low == other.low;
+  }
+
+  @Override
+  public int hashCode() {
+    long hash = high ^ low;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  private static boolean digits(String id, int start) {
+    for (int i = start; i < id.length(); i++) {
+      char c = id.charAt(i);
+      if (c < '0' || c > '9')
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean canonical(String id, int start) {
+    for (int i = 0; i < 36; i++) {
+      char c = id.charAt(start + i);
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        if (c != '-')
+          return false;
+      } else if (Character.digit(c, 16) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long hex(String id, int start, int end) {
+    long value = 0;
+    for (int i = start; i < end; i++) {
+      value = value << 4 | Character.digit(id.charAt(i), 16);
+    }
+    return value;
+  }
+
+}
@@ -11,14 +11,28 @@ public abstract class Log {
   private static String LOGGER = "org.camunda.bpm.scenario";
   private static ScenarioLog scenarioLog = Api.feature("org.slf4j.Logger").isSupported() ? new Slf4jLog() : new JavaLog();
 
-  private static String space;
-  private static String prefix;
+  // scenarios may run concurrently, e.g. when generating load, so
+  // the indentation of the scenario log is tracked per thread
+  private static final ThreadLocal<Indent> indent = new ThreadLocal<Indent>() {
+    @Override
+    protected Indent initialValue() {
+      return new Indent();
+    }
+  };
+
+  private static class Indent {
+
+    String space = "";
+    String prefix = "|";
+
+  }
 
   private interface ScenarioLog {
 
     boolean isDebugEnabled();
     void debug(String message);
     void info(String message);
+    void warn(String message);
 
   }
 
@@ -41,6 +55,11 @@ public abstract class Log {
       log.info(message);
     }
 
+    @Override
+    public void warn(String message) {
+      log.warn(message);
+    }
+
   }
 
   private static class JavaLog implements ScenarioLog {
@@ -62,12 +81,26 @@ public abstract class Log {
       log.log(Level.INFO, message);
     }
 
+    @Override
+    public void warn(String message) {
+      log.log(Level.WARNING, message);
+    }
+
+  }
+
+  public static void warn(String message) {
+    scenarioLog.warn(message);
   }
 
   private interface ScenarioLoggable {
 
     String instanceFormat = "%s %s %s LABEL(%s @ %s # %s)";
-    DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd' 'HH:mm:ss");
+    ThreadLocal<DateFormat> dateFormat = new ThreadLocal<DateFormat>() {
+      @Override
+      protected DateFormat initialValue() {
+        return new SimpleDateFormat("yyyy-MM-dd' 'HH:mm:ss");
+      }
+    };
 
     void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time);
 
@@ -78,13 +111,13 @@ public abstract class Log {
     StartingAt {
 
       private void init() {
-        space = "";
-        prefix = "|";
+        indent.get().space = "";
+        indent.get().prefix = "|";
       }
 
       public void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time) {
         init();
-        scenarioLog.info(String.format("%s Starting scenario at %s", "*", dateFormat.format(Time.get())));
+        scenarioLog.info(String.format("%s Starting scenario at %s", "*", dateFormat.get().format(Time.get())));
       }
 
     },
@@ -92,9 +125,9 @@ public abstract class Log {
     FastForward {
 
       public void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time) {
-        scenarioLog.info(String.format("%s Fast-forwarding scenario to %s", prefix, dateFormat.format(Time.get())));
-        prefix = space + "|--";
-        space = space + "  ";
+        scenarioLog.info(String.format("%s Fast-forwarding scenario to %s", indent.get().prefix, dateFormat.get().format(Time.get())));
+        indent.get().prefix = indent.get().space + "|--";
+        indent.get().space = indent.get().space + "  ";
       }
 
     },
@@ -102,12 +135,12 @@ public abstract class Log {
     FinishingAt {
 
       private void init() {
-        space = "";
-        prefix = "|";
+        indent.get().space = "";
+        indent.get().prefix = "|";
       }
 
       public void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time) {
-        scenarioLog.info(String.format("%s Finishing scenario at %s", space + "*", dateFormat.format(Time.get())));
+        scenarioLog.info(String.format("%s Finishing scenario at %s", indent.get().space + "*", dateFormat.get().format(Time.get())));
         init();
       }
 
@@ -119,7 +152,7 @@ public abstract class Log {
         String message;
         if (activityName != null) {
           message = String.format(ScenarioLoggable.instanceFormat.replace("LABEL", "'%s' "),
-              space + "*",
+              indent.get().space + "*",
               Strings.rightpad(toString(), 9),
               Strings.rightpad(activityType, 18),
               Strings.trimAll(activityName),
@@ -128,7 +161,7 @@ public abstract class Log {
               processInstanceId);
         } else {
           message = String.format(ScenarioLoggable.instanceFormat.replace("LABEL", ""),
-              space + "*",
+              indent.get().space + "*",
               Strings.rightpad(toString(), 9),
               Strings.rightpad(activityType, 18),
               activityId,
@@ -136,7 +169,7 @@ public abstract class Log {
               processInstanceId);
         }
         scenarioLog.info(message);
-        prefix = space + "|";
+        indent.get().prefix = indent.get().space + "|";
       }
 
       @Override
@@ -151,17 +184,17 @@ public abstract class Log {
       public void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time) {
         if (scenarioLog.isDebugEnabled()) {
           String message = String.format("%s %s %s '%s' until %s (%s @ %s # %s : %s)",
-              prefix,
+              indent.get().prefix,
               Strings.rightpad("Deferring", 9),
               Strings.rightpad("action on", 18),
               Strings.trimAll(activityName),
-              dateFormat.format(time),
+              dateFormat.get().format(time),
               activityId,
               processDefinitionKey,
               processInstanceId,
               actionId);
           scenarioLog.debug(message);
-          prefix = space + "|";
+          indent.get().prefix = indent.get().space + "|";
         }
       }
 
@@ -171,7 +204,7 @@ public abstract class Log {
 
       public void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time) {
         String message = String.format("%s %s %s '%s' (%s @ %s # %s : %s)",
-            prefix,
+            indent.get().prefix,
             Strings.rightpad("Executing", 9),
             Strings.rightpad("deferred action on", 18),
             Strings.trimAll(activityName),
@@ -180,7 +213,7 @@ public abstract class Log {
             processInstanceId,
             actionId);
         scenarioLog.info(message);
-        prefix = space + "|";
+        indent.get().prefix = indent.get().space + "|";
       }
 
     },
@@ -190,7 +223,7 @@ public abstract class Log {
       public void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time) {
         if (scenarioLog.isDebugEnabled()) {
           String message = String.format("%s %s %s (%s @ %s # %s)",
-              prefix,
+              indent.get().prefix,
               Strings.rightpad(toString(), 9),
               Strings.rightpad(activityType, 18),
               Strings.trimAll(activityName),
@@ -198,7 +231,7 @@ public abstract class Log {
               processInstanceId
           );
           scenarioLog.debug(message);
-          prefix = space + "|";
+          indent.get().prefix = indent.get().space + "|";
         }
       }
 
@@ -209,7 +242,7 @@ public abstract class Log {
       public void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time) {
         if (scenarioLog.isDebugEnabled()) {
           scenarioLog.debug(message(this, activityType, activityName, activityId, processDefinitionKey, processInstanceId));
-          prefix = space + "|";
+          indent.get().prefix = indent.get().space + "|";
         }
       }
 
@@ -219,7 +252,7 @@ public abstract class Log {
 
       public void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time) {
         scenarioLog.info(message(this, activityType, activityName, activityId, processDefinitionKey, processInstanceId));
-        prefix = space + "|";
+        indent.get().prefix = indent.get().space + "|";
       }
 
     },
@@ -228,7 +261,7 @@ public abstract class Log {
 
       public void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time) {
         scenarioLog.info(message(this, activityType, activityName, activityId, processDefinitionKey, processInstanceId));
-        prefix = space + "|";
+        indent.get().prefix = indent.get().space + "|";
       }
 
     },
@@ -237,7 +270,7 @@ public abstract class Log {
 
       public void log(String activityType, String activityName, String activityId, String processDefinitionKey, String processInstanceId, String actionId, Date time) {
         scenarioLog.info(message(this, activityType, activityName, activityId, processDefinitionKey, processInstanceId));
-        prefix = space + "|";
+        indent.get().prefix = indent.get().space + "|";
       }
 
     },
@@ -248,7 +281,7 @@ public abstract class Log {
     String message;
     if (activityName != null && !activityName.equals("")) {
       message = String.format(ScenarioLoggable.instanceFormat.replace("LABEL", "'%s' "),
-          prefix,
+          indent.get().prefix,
           Strings.rightpad(action.toString(), 9),
           Strings.rightpad(activityType, 18),
           Strings.trimAll(activityName),
@@ -257,7 +290,7 @@ public abstract class Log {
           processInstanceId);
     } else {
       message = String.format(ScenarioLoggable.instanceFormat.replace("LABEL", ""),
-          prefix,
+          indent.get().prefix,
           Strings.rightpad(action.toString(), 9),
           Strings.rightpad(activityType, 18),
           activityId,
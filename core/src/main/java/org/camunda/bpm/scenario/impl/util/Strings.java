@@ -17,4 +17,27 @@ public class Strings {
     return text == null ? "" : text.replaceAll("\\s+", " ").trim();
   }
 
+  public static String escapeJson(String text) {
+    if (text == null)
+      return "";
+    StringBuilder builder = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '"': builder.append("\\\""); break;
+        case '\\': builder.append("\\\\"); break;
+        case '\n': builder.append("\\n"); break;
+        case '\r': builder.append("\\r"); break;
+        case '\t': builder.append("\\t"); break;
+        default:
+          if (c < 0x20) {
+            builder.append(String.format("\\u%04x", (int) c));
+          } else {
+            builder.append(c);
+          }
+      }
+    }
+    return builder.toString();
+  }
+
 }
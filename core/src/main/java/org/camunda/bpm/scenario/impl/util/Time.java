@@ -12,6 +12,25 @@ import java.util.Date;
  */
 public class Time {
 
+  private static volatile boolean wallClock;
+
+  /**
+   * Switch wall clock mode on or off. In wall clock mode the engine's
+   * clock is left alone and scenarios wait for timers and deferred
+   * actions in real time. As the engine's clock is global, this mode
+   * is JVM-global, too: it applies to all scenarios run on all threads
+   * and must not be switched while other scenarios are running.
+   */
+  public static void wallClock(boolean wallClock) {
+    Time.wallClock = wallClock;
+    if (wallClock)
+      ClockUtil.reset();
+  }
+
+  public static boolean isWallClock() {
+    return wallClock;
+  }
+
   public static Date dateAfter(String period) {
     try {
       return new DurationHelper(period).getDateAfter();
@@ -21,6 +40,10 @@ public class Time {
   }
 
   public static void set(Date time) {
+    if (wallClock) {
+      sleepUntil(time);
+      return;
+    }
     Date currentTime = ClockUtil.getCurrentTime();
     ClockUtil.setCurrentTime(time);
     if (!time.equals(currentTime))
@@ -33,7 +56,20 @@ public class Time {
 
   public static void reset() {
     Action.FinishingAt.log(null, null, null, null, null, null, null);
-    ClockUtil.reset();
+    if (!wallClock)
+      ClockUtil.reset();
+  }
+
+  private static void sleepUntil(Date time) {
+    long millis = time.getTime() - System.currentTimeMillis();
+    if (millis > 0) {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+    }
   }
 
   // ***
@@ -51,6 +87,8 @@ public class Time {
   private static final int milliseconds = 500;
 
   public static Date correct(Date date) {
+    if (wallClock)
+      return date;
     Calendar cal = Calendar.getInstance();
     cal.setTime(date);
     if (cal.get(Calendar.MILLISECOND) != milliseconds) {
@@ -61,9 +99,11 @@ public class Time {
   }
 
   public static void init() {
-    Calendar cal = Calendar.getInstance();
-    cal.set(Calendar.MILLISECOND, milliseconds);
-    ClockUtil.setCurrentTime(cal.getTime());
+    if (!wallClock) {
+      Calendar cal = Calendar.getInstance();
+      cal.set(Calendar.MILLISECOND, milliseconds);
+      ClockUtil.setCurrentTime(cal.getTime());
+    }
     Log.Action.StartingAt.log(null, null, null, null, null, null, null);
   }
   // ***
@@ -36,6 +36,12 @@ public class CallActivityExecutable extends AbstractProcessInstanceDelegate {
     return null;
   }
 
+  @Override
+  protected boolean isStable() {
+    // every called process instance needs a runner of its own
+    return false;
+  }
+
   @Override
   public String getRootProcessInstanceId() {
     return getProcessInstance().getRootProcessInstanceId();
@@ -43,10 +43,15 @@ public class ConditionalIntermediateEventExecutable extends AbstractProcessInsta
             null,
             null
         );
+        runner.acting(historicDelegate);
+        forgetVariables();
         action.execute(this);
+        runner.acted(historicDelegate);
       }
     } catch (Exception e) {
       throw new RuntimeException(e);
+    } finally {
+      forgetVariables();
     }
     runner.setExecuted(this);
   }
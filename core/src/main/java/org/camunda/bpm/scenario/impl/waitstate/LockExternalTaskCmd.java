@@ -0,0 +1,42 @@
+package org.camunda.bpm.scenario.impl.waitstate;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Locks exactly one external task for a worker - other than fetching
+ * and locking a whole topic, which would lock every other open task of
+ * the same topic as well.
+ */
+public class LockExternalTaskCmd implements Command<Boolean> {
+
+  private String externalTaskId;
+  private String workerId;
+  private long lockDuration;
+
+  public LockExternalTaskCmd(String externalTaskId, String workerId, long lockDuration) {
+    this.externalTaskId = externalTaskId;
+    this.workerId = workerId;
+    this.lockDuration = lockDuration;
+  }
+
+  /**
+   * @return true in case the task was locked, false in case it does not
+   * exist (anymore) or is currently locked by another worker
+   */
+  @Override
+  public Boolean execute(CommandContext commandContext) {
+    ExternalTaskEntity externalTask = commandContext.getExternalTaskManager().findExternalTaskById(externalTaskId);
+    if (externalTask == null)
+      return false;
+    if (externalTask.getLockExpirationTime() != null
+        && externalTask.getLockExpirationTime().after(ClockUtil.getCurrentTime())
+        && !workerId.equals(externalTask.getWorkerId()))
+      return false;
+    externalTask.lock(workerId, lockDuration);
+    return true;
+  }
+
+}
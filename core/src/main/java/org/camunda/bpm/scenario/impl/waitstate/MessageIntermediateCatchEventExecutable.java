@@ -37,11 +37,13 @@ public class MessageIntermediateCatchEventExecutable extends AbstractEventSubscr
   @Override
   public void receive() {
     eventSubscriptionDelegate.receive();
+    invalidate();
   }
 
   @Override
   public void receive(Map<String, Object> variables) {
     eventSubscriptionDelegate.receive(variables);
+    invalidate();
   }
 
 }
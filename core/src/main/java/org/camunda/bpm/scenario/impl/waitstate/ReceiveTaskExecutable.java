@@ -32,22 +32,24 @@ public class ReceiveTaskExecutable extends MessageIntermediateCatchEventExecutab
 
   @Override
   public void receive() {
-    EventSubscription eventSubscription = getDelegate();
+    EventSubscription eventSubscription = resolve();
     if (eventSubscription != null) {
       super.receive();
     } else {
       getRuntimeService().signal(getExecutionId());
     }
+    invalidate();
   }
 
   @Override
   public void receive(Map<String, Object> variables) {
-    EventSubscription eventSubscription = getDelegate();
+    EventSubscription eventSubscription = resolve();
     if (eventSubscription != null) {
       super.receive(variables);
     } else {
       getRuntimeService().signal(getExecutionId(), variables);
     }
+    invalidate();
   }
 
   @Override
@@ -2,11 +2,14 @@ package org.camunda.bpm.scenario.impl.waitstate;
 
 
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.scenario.ProcessScenario;
 import org.camunda.bpm.scenario.act.Action;
 import org.camunda.bpm.scenario.impl.ProcessRunnerImpl;
 import org.camunda.bpm.scenario.impl.delegate.AbstractExternalTaskDelegate;
+import org.camunda.bpm.scenario.impl.util.Api;
 
 import java.util.Map;
 
@@ -16,6 +19,7 @@ import java.util.Map;
 public class ServiceTaskExecutable extends AbstractExternalTaskDelegate {
 
   private static final String WORKER_ID = "workerId";
+  private static final String EXTERNAL_TASK_ENTITY = "org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity";
 
   public ServiceTaskExecutable(ProcessRunnerImpl runner, HistoricActivityInstance instance) {
     super(runner, instance);
@@ -31,31 +35,51 @@ public class ServiceTaskExecutable extends AbstractExternalTaskDelegate {
     return scenario.waitsAtServiceTask(getActivityId());
   }
 
-  protected void fetchAndLock() {
-    getExternalTaskService().fetchAndLock(Integer.MAX_VALUE, WORKER_ID).topic(getDelegate().getTopicName(), Integer.MAX_VALUE).execute();
+  /**
+   * Locks the external task of this wait state only, if the engine
+   * allows to do so. Otherwise falls back to fetching and locking the
+   * whole topic.
+   *
+   * @return the id of the external task to complete
+   */
+  protected String lock() {
+    ExternalTask externalTask = resolve();
+    boolean locked = false;
+    Api lock = Api.feature(EXTERNAL_TASK_ENTITY, "lock", String.class, long.class);
+    if (lock.isSupported()) {
+      CommandExecutor commandExecutor = ((ProcessEngineConfigurationImpl) runner.engine()
+          .getProcessEngineConfiguration()).getCommandExecutorTxRequired();
+      locked = commandExecutor.execute(new LockExternalTaskCmd(externalTask.getId(), WORKER_ID, Integer.MAX_VALUE));
+    }
+    if (!locked) {
+      long fallback = lock.isSupported() ? -1 : lock.fallback();
+      getExternalTaskService().fetchAndLock(Integer.MAX_VALUE, WORKER_ID).topic(externalTask.getTopicName(), Integer.MAX_VALUE).execute();
+      lock.fellBack(fallback);
+    }
+    return externalTask.getId();
   }
 
   @Override
   public void complete() {
-    fetchAndLock();
-    getExternalTaskService().complete(getDelegate().getId(), WORKER_ID);
+    getExternalTaskService().complete(lock(), WORKER_ID);
+    invalidate();
   }
 
   @Override
   public void complete(Map<String, Object> variables) {
-    fetchAndLock();
-    getExternalTaskService().complete(getDelegate().getId(), WORKER_ID, variables);
+    getExternalTaskService().complete(lock(), WORKER_ID, variables);
+    invalidate();
   }
 
   @Override
   public void handleBpmnError(String errorCode) {
-    fetchAndLock();
-    getExternalTaskService().handleBpmnError(getDelegate().getId(), WORKER_ID, errorCode);
+    getExternalTaskService().handleBpmnError(lock(), WORKER_ID, errorCode);
+    invalidate();
   }
 
   @Override
   public String getProcessDefinitionVersionTag() {
-    return getRepositoryService().getProcessDefinition(getProcessDefinitionId()).getVersionTag();
+    return runner.definitions().get(getProcessDefinitionId()).getVersionTag();
   }
 
   @Override
@@ -44,10 +44,15 @@ public class TimerIntermediateEventExecutable extends AbstractProcessInstanceDel
             null,
             null
         );
+        runner.acting(historicDelegate);
+        forgetVariables();
         action.execute(this);
+        runner.acted(historicDelegate);
       }
     } catch (Exception e) {
       throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+    } finally {
+      forgetVariables();
     }
     runner.setExecuted(this);
   }
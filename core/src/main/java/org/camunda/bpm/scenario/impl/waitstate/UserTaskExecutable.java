@@ -30,12 +30,14 @@ public class UserTaskExecutable extends AbstractTaskDelegate {
 
   @Override
   public void complete() {
-    getTaskService().complete(getDelegate().getId());
+    getTaskService().complete(resolve().getId());
+    invalidate();
   }
 
   @Override
   public void complete(Map<String, Object> variables) {
-    getTaskService().complete(getDelegate().getId(), variables);
+    getTaskService().complete(resolve().getId(), variables);
+    invalidate();
   }
 
 }
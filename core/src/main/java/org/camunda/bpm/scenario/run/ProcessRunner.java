@@ -22,6 +22,35 @@ public interface ProcessRunner extends Runner {
      */
     ExecutableRunner engine(ProcessEngine processEngine);
 
+    /**
+     * Declare the scenario interfaces of this scenario run to be
+     * stable: they always deliver the same action for the same
+     * activity id. The action is then looked up just once per
+     * process instance and activity id, instead of every time the
+     * process instance waits there again (e.g. in loops). Don't use
+     * it with scenario interfaces delivering different actions on
+     * subsequent calls (e.g. mocks stubbed with several answers).
+     */
+    ExecutableRunner stable();
+
+    /**
+     * Execute every step of this scenario run - i.e. polling the
+     * process instances, executing the next action and the related
+     * bookkeeping - within one single engine command. The engine
+     * commands needed for that then share its command context,
+     * database session and transaction, instead of opening and
+     * committing one of their own each. The changes get flushed
+     * after starting a process instance and after each action, but
+     * committed at the end of the step, so an exception thrown during
+     * a step rolls back the whole step. Jobs are still executed in
+     * commands of their own, so that the engine keeps track of their
+     * failures and retries. Don't use it with actions
+     * relying on changes done by themselves to be visible to queries
+     * they execute afterwards. Requires Camunda BPM 7.2 or later, older
+     * versions execute the steps unbatched.
+     */
+    ExecutableRunner batched();
+
     /**
      * Execute the fully defined scenario run.
      *
@@ -0,0 +1,30 @@
+package org.camunda.bpm.scenario.timeline;
+
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.impl.timeline.ChromeTraceWriter;
+import org.camunda.bpm.scenario.impl.timeline.TimelineImpl;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Exports an executed scenario in the Chrome trace event format, which
+ * can be opened with chrome://tracing or compatible viewers. One view
+ * shows a track per process instance with its activity instances in
+ * simulated time. Another view shows the wall time needed per scheduler
+ * step and per action executed on behalf of the scenario.
+ */
+public abstract class ChromeTrace {
+
+  /**
+   * Write the trace of the executed scenario provided as parameter.
+   *
+   * @param scenario an executed scenario
+   * @param writer to write the trace event JSON to
+   * @throws IOException in case writing fails
+   */
+  public static void write(Scenario scenario, Writer writer) throws IOException {
+    new ChromeTraceWriter((TimelineImpl) scenario.timeline(), writer).write();
+  }
+
+}
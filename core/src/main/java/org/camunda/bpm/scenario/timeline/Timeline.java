@@ -0,0 +1,80 @@
+package org.camunda.bpm.scenario.timeline;
+
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.scenario.ProcessScenario;
+
+import java.util.List;
+
+/**
+ * The activity instances started and finished during a scenario run,
+ * as observed by the scenario runners. The timeline is kept in memory
+ * and can therefore be consulted after the fact without querying the
+ * process engine's history.
+ */
+public interface Timeline {
+
+  /**
+   * Retrieve all the activity instances of the scenario run.
+   *
+   * @return the activity instances of all process instances run by
+   * the scenario in the order in which they were started.
+   */
+  List<TimelineEntry> entries();
+
+  /**
+   * Retrieve the activity instances of the process instances run by
+   * the scenario provided as parameter.
+   *
+   * @param scenario for which the activity instances should be delivered
+   * @return the activity instances of that scenario in the order in which
+   * they were started.
+   */
+  List<TimelineEntry> entries(ProcessScenario scenario);
+
+  /**
+   * Retrieve the activity instances of the process instance provided
+   * as parameter.
+   *
+   * @param processInstance for which the activity instances should be
+   * delivered
+   * @return the activity instances of that process instance in the order
+   * in which they were started.
+   */
+  List<TimelineEntry> entries(ProcessInstance processInstance);
+
+  /**
+   * Retrieve the activity instances with the activity id provided
+   * as parameter.
+   *
+   * @param activityId for which the activity instances should be delivered
+   * @return the activity instances of all process instances run by the
+   * scenario with that activity id in the order in which they were started.
+   */
+  List<TimelineEntry> entries(String activityId);
+
+  /**
+   * @param activityId the activity id of interest
+   * @return true in case at least one activity instance with the given
+   * activity id has been started during the scenario run.
+   */
+  boolean hasStarted(String activityId);
+
+  /**
+   * @param activityId the activity id of interest
+   * @return true in case at least one activity instance with the given
+   * activity id has been finished (in other words has been either
+   * completed or canceled) during the scenario run.
+   */
+  boolean hasFinished(String activityId);
+
+  /**
+   * @param activityId the activity id expected to be passed first
+   * @param otherActivityId the activity id expected to be reached later
+   * @return true in case an activity instance with the activity id
+   * provided as first parameter has been finished before an activity
+   * instance with the activity id provided as second parameter has been
+   * started.
+   */
+  boolean hasPassedBefore(String activityId, String otherActivityId);
+
+}
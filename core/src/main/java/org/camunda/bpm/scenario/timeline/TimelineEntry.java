@@ -0,0 +1,31 @@
+package org.camunda.bpm.scenario.timeline;
+
+import java.util.Date;
+
+/**
+ * An activity instance observed during a scenario run. Start and
+ * end times are expressed in the (simulated) time of the scenario.
+ */
+public interface TimelineEntry {
+
+  String getActivityId();
+
+  String getActivityType();
+
+  String getProcessDefinitionKey();
+
+  String getProcessInstanceId();
+
+  Date getStartTime();
+
+  /**
+   * @return the end time of the activity instance or null in case
+   * the activity instance did not finish during the scenario run.
+   */
+  Date getEndTime();
+
+  boolean isFinished();
+
+  boolean isCanceled();
+
+}
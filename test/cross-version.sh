@@ -0,0 +1,17 @@
+#!/bin/sh
+# Runs the CrossVersionBenchmarkTest against every engine version the
+# test modules support and prints the resulting comparison table.
+#
+#   test/cross-version.sh [version ...]
+#
+cd "$(dirname "$0")/.." || exit 1
+REPORT="${REPORT:-$(pwd)/test/target/cross-version.csv}"
+VERSIONS="${*:-7.0.0-Final 7.1.0-Final 7.2.0 7.3.0 7.4.0 7.5.0 7.6.0 RELEASE}"
+
+mkdir -p "$(dirname "$REPORT")"
+rm -f "$REPORT"
+mvn -q -pl core install -DskipTests || exit 1
+for VERSION in $VERSIONS; do
+  mvn -q -f test/pom.xml test -Pcross-version -Dcamunda-bpm.version="$VERSION" -Dbenchmark.report="$REPORT" || exit 1
+done
+column -t -s, "$REPORT" 2>/dev/null || cat "$REPORT"
@@ -0,0 +1,171 @@
+package org.camunda.bpm.scenario.test.benchmark;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.delegate.TaskDelegate;
+import org.camunda.bpm.scenario.impl.monitor.CommandCounter;
+import org.camunda.bpm.scenario.impl.monitor.CommandCounterPlugin;
+import org.camunda.bpm.scenario.impl.timeline.TimelineImpl;
+import org.camunda.bpm.scenario.impl.util.Api;
+import org.camunda.bpm.scenario.test.TestEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.Assume.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs a fixed scenario workload against the engine version found in the
+ * classpath and appends a row with scenario throughput, engine commands
+ * (i.e. queries and service calls) per step and the most expensive
+ * unsupported Api features to the CSV file given by the system property
+ * {@value #REPORT_PROPERTY}. Skipped in case no report file is given. Run
+ * it for all engine versions with {@code test/cross-version.sh}.
+ */
+public class CrossVersionBenchmarkTest {
+
+  public static final String REPORT_PROPERTY = "benchmark.report";
+
+  private static final int WARMUP = 50;
+  private static final int RUNS = 200;
+
+  @Mock
+  private ProcessScenario userTask;
+
+  @Mock
+  private ProcessScenario parallelGateway;
+
+  @Mock
+  private ProcessScenario timer;
+
+  private ProcessEngine processEngine;
+  private CommandCounter counter;
+  private Level level;
+
+  @Before
+  public void setup() {
+    assumeTrue(System.getProperty(REPORT_PROPERTY) != null);
+    MockitoAnnotations.initMocks(this);
+    UserTaskAction complete = new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        task.complete();
+      }
+    };
+    when(userTask.waitsAtUserTask("UserTask")).thenReturn(complete);
+    when(parallelGateway.waitsAtUserTask("UserTaskOne")).thenReturn(complete);
+    when(parallelGateway.waitsAtUserTask("UserTaskTwo")).thenReturn(complete);
+    CommandCounterPlugin plugin = new CommandCounterPlugin();
+    counter = plugin.getCounter();
+    processEngine = TestEngine.named("cross-version")
+        .plugin(plugin)
+        .resource("org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn")
+        .resource("org/camunda/bpm/scenario/test/gateways/ParallelGatewayTest.bpmn")
+        .resource("org/camunda/bpm/scenario/test/waitstates/TimerIntermediateEventTest.bpmn")
+        .build();
+    Logger logger = Logger.getLogger("org.camunda.bpm.scenario");
+    level = logger.getLevel();
+    logger.setLevel(Level.INFO);
+  }
+
+  @After
+  public void close() {
+    Api.profile(false);
+    if (processEngine != null) {
+      Logger.getLogger("org.camunda.bpm.scenario").setLevel(level);
+      processEngine.close();
+    }
+  }
+
+  @Test
+  public void testWorkload() throws IOException {
+    for (int i = 0; i < WARMUP; i++) {
+      run();
+    }
+    counter.reset();
+    Api.profile(true);
+    List<Api.Usage> before = Api.usage();
+    long steps = 0;
+    long started = System.nanoTime();
+    for (int i = 0; i < RUNS; i++) {
+      steps += run();
+    }
+    double seconds = (System.nanoTime() - started) / 1e9;
+    report(RUNS / seconds, steps / seconds, (double) counter.count() / steps, costs(before, Api.usage()));
+  }
+
+  private int run() {
+    Scenario scenario = Scenario
+        .run(userTask).startByKey("UserTaskTest")
+        .run(parallelGateway).startByKey("ParallelGatewayTest")
+        .run(timer).startByKey("TimerIntermediateEventTest")
+        .engine(processEngine)
+        .execute();
+    return ((TimelineImpl) scenario.timeline()).steps().size();
+  }
+
+  private String costs(List<Api.Usage> before, List<Api.Usage> after) {
+    // maps unsupported signatures to fallbacks and nanoseconds spent during the runs
+    final Map<String, long[]> costs = new HashMap<String, long[]>();
+    for (Api.Usage usage: after) {
+      if (!usage.isSupported())
+        costs.put(usage.getSignature(), new long[] { usage.getFallbacks(), usage.getNanos() });
+    }
+    for (Api.Usage usage: before) {
+      long[] cost = costs.get(usage.getSignature());
+      if (cost != null) {
+        cost[0] -= usage.getFallbacks();
+        cost[1] -= usage.getNanos();
+      }
+    }
+    List<String> signatures = new ArrayList<String>(costs.keySet());
+    Collections.sort(signatures, new Comparator<String>() {
+      @Override
+      public int compare(String one, String other) {
+        return Long.valueOf(costs.get(other)[1]).compareTo(costs.get(one)[1]);
+      }
+    });
+    StringBuilder builder = new StringBuilder();
+    for (String signature: signatures) {
+      long[] cost = costs.get(signature);
+      builder.append(builder.length() > 0 ? "; " : "")
+          .append(String.format(Locale.ROOT, "%s x%d %.1fms", signature, cost[0], cost[1] / 1e6));
+    }
+    return builder.toString();
+  }
+
+  private void report(double scenarios, double steps, double commands, String costs) throws IOException {
+    File file = new File(System.getProperty(REPORT_PROPERTY));
+    boolean header = !file.exists();
+    Writer writer = new FileWriter(file, true);
+    try {
+      if (header)
+        writer.write("version,scenarios/s,steps/s,commands/step,unsupported features by cost\n");
+      String version = ProcessEngine.class.getPackage().getImplementationVersion();
+      writer.write(String.format(Locale.ROOT, "%s,%.1f,%.1f,%.2f,\"%s\"%n",
+          version != null ? version : "unknown", scenarios, steps, commands, costs));
+    } finally {
+      writer.close();
+    }
+  }
+
+}
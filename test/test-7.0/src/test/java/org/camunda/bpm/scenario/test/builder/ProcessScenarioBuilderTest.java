@@ -0,0 +1,109 @@
+package org.camunda.bpm.scenario.test.builder;
+
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.ProcessScenarioBuilder;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.delegate.TaskDelegate;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ProcessScenarioBuilderTest {
+
+  @Rule
+  public ProcessEngineRule rule = new ProcessEngineRule();
+
+  private static final UserTaskAction COMPLETE = new UserTaskAction() {
+    @Override
+    public void execute(TaskDelegate task) {
+      task.complete();
+    }
+  };
+
+  private List<String> called = new ArrayList<String>();
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"})
+  public void testCompleteTask() {
+
+    ProcessScenario scenario = ProcessScenarioBuilder.scenario()
+        .waitsAtUserTask("UserTask", COMPLETE)
+        .hasStarted("UserTask", callback("started UserTask"))
+        .hasFinished("UserTask", callback("finished UserTask"))
+        .hasFinished("EndEvent", callback("finished EndEvent"))
+        .build();
+
+    Scenario.run(scenario).startByKey("UserTaskTest").execute();
+
+    assertEquals(3, called.size());
+    assertEquals("started UserTask", called.get(0));
+    assertTrue(called.contains("finished UserTask"));
+    assertEquals("finished EndEvent", called.get(2));
+
+  }
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"})
+  public void testCallbacksSwitchedOff() {
+
+    ProcessScenario scenario = ProcessScenarioBuilder.scenario()
+        .waitsAtUserTask("UserTask", COMPLETE)
+        .hasFinished("EndEvent", callback("finished EndEvent"))
+        .callbacks(false)
+        .build();
+
+    Scenario.run(scenario).startByKey("UserTaskTest").execute();
+
+    assertTrue(called.isEmpty());
+
+  }
+
+  @Test(expected = AssertionError.class)
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"})
+  public void testDoNotDealWithTask() {
+
+    Scenario.run(ProcessScenarioBuilder.scenario().build()).startByKey("UserTaskTest").execute();
+
+  }
+
+  @Test
+  @Deployment(resources = {
+      "org/camunda/bpm/scenario/test/waitstates/CallActivityTest.bpmn",
+      "org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"
+  })
+  public void testCallActivity() {
+
+    ProcessScenario calledScenario = ProcessScenarioBuilder.scenario()
+        .waitsAtUserTask("UserTask", COMPLETE)
+        .hasFinished("UserTask", callback("finished called UserTask"))
+        .build();
+
+    ProcessScenario scenario = ProcessScenarioBuilder.scenario()
+        .runsCallActivity("CallActivity", calledScenario)
+        .hasFinished("EndEvent", callback("finished EndEvent"))
+        .build();
+
+    Scenario.run(scenario).startByKey("CallActivityTest").execute();
+
+    assertTrue(called.contains("finished called UserTask"));
+    assertTrue(called.contains("finished EndEvent"));
+
+  }
+
+  private Runnable callback(final String name) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        called.add(name);
+      }
+    };
+  }
+
+}
@@ -117,4 +117,28 @@ public class CallActivityChildBlockingTest extends AbstractTest {
 
   }
 
+  @Test
+  @Deployment(resources = {
+    "org/camunda/bpm/scenario/test/callactivities/CallActivityTest.bpmn",
+    "org/camunda/bpm/scenario/test/callactivities/CallActivityChildBlockingTest.bpmn"
+  })
+  public void testCompleteCallActivityWithBatchedSteps() {
+
+    when(scenario.runsCallActivity("CallActivity")).thenReturn(Scenario.use(childScenario));
+
+    when(childScenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        task.complete();
+      }
+    });
+
+    Scenario.run(scenario).startByKey("CallActivityTest").batched().execute();
+
+    verify(childScenario, times(1)).hasFinished("UserTask");
+    verify(scenario, times(1)).hasFinished("CallActivity");
+    verify(scenario, times(1)).hasFinished("EndEvent");
+
+  }
+
 }
@@ -0,0 +1,80 @@
+package org.camunda.bpm.scenario.test.frontier;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.scenario.impl.frontier.FrontierEntry;
+import org.camunda.bpm.scenario.impl.frontier.FrontierPlugin;
+import org.camunda.bpm.scenario.impl.frontier.FrontierQueryCmd;
+import org.camunda.bpm.scenario.test.TestEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FrontierQueryTest {
+
+  private ProcessEngine processEngine;
+
+  @Before
+  public void setup() {
+    processEngine = TestEngine.named("frontier")
+        .plugin(new FrontierPlugin())
+        .resource("org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn")
+        .resource("org/camunda/bpm/scenario/test/waitstates/TimerIntermediateEventTest.bpmn")
+        .build();
+  }
+
+  @After
+  public void close() {
+    if (processEngine != null)
+      processEngine.close();
+  }
+
+  @Test
+  public void testFrontier() {
+
+    ProcessInstance userTask = processEngine.getRuntimeService().startProcessInstanceByKey("UserTaskTest");
+    ProcessInstance timer = processEngine.getRuntimeService().startProcessInstanceByKey("TimerIntermediateEventTest");
+    processEngine.getRuntimeService().startProcessInstanceByKey("UserTaskTest");
+
+    List<FrontierEntry> frontier = frontier(Arrays.asList(userTask.getId(), timer.getId()));
+
+    assertEquals(4, frontier.size());
+    assertEntry(frontier, FrontierEntry.Kind.ACTIVITY, userTask.getId(), "UserTask");
+    assertEntry(frontier, FrontierEntry.Kind.TASK, userTask.getId(), "UserTask");
+    assertEntry(frontier, FrontierEntry.Kind.ACTIVITY, timer.getId(), "TimerIntermediateEvent");
+    assertEntry(frontier, FrontierEntry.Kind.JOB, timer.getId(), null);
+
+  }
+
+  @Test
+  public void testNoProcessInstances() {
+
+    processEngine.getRuntimeService().startProcessInstanceByKey("UserTaskTest");
+
+    assertTrue(frontier(Collections.<String>emptyList()).isEmpty());
+
+  }
+
+  private List<FrontierEntry> frontier(Collection<String> processInstanceIds) {
+    return ((ProcessEngineImpl) processEngine).getProcessEngineConfiguration()
+        .getCommandExecutorTxRequired().execute(new FrontierQueryCmd(processInstanceIds));
+  }
+
+  private void assertEntry(List<FrontierEntry> frontier, FrontierEntry.Kind kind, String processInstanceId, String activityId) {
+    for (FrontierEntry entry: frontier) {
+      if (entry.getKind() == kind && entry.getProcessInstanceId().equals(processInstanceId)
+          && (activityId == null ? entry.getActivityId() == null : activityId.equals(entry.getActivityId())))
+        return;
+    }
+    fail("No " + kind + " '" + activityId + "' found in " + frontier);
+  }
+
+}
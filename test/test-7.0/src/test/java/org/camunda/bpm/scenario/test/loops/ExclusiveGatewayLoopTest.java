@@ -84,4 +84,44 @@ public class ExclusiveGatewayLoopTest extends AbstractTest {
 
   }
 
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/loops/ExclusiveGatewayLoopTest.bpmn"})
+  public void testDoTaskTenTimesWithStableScenario() {
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        variables.put("leave", ++loop == 10);
+        task.complete(variables);
+      }
+    });
+
+    Scenario.run(scenario).startByKey("ExclusiveGatewayLoopTest").stable().execute();
+
+    verify(scenario, times(1)).waitsAtUserTask("UserTask");
+    verify(scenario, times(10)).hasFinished("UserTask");
+    verify(scenario, times(1)).hasFinished("EndEvent");
+
+  }
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/loops/ExclusiveGatewayLoopTest.bpmn"})
+  public void testDoTaskTenTimesWithBatchedSteps() {
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        variables.put("leave", ++loop == 10);
+        task.complete(variables);
+      }
+    });
+
+    Scenario.run(scenario).startByKey("ExclusiveGatewayLoopTest").batched().execute();
+
+    verify(scenario, times(10)).waitsAtUserTask("UserTask");
+    verify(scenario, times(10)).hasFinished("UserTask");
+    verify(scenario, times(1)).hasFinished("EndEvent");
+
+  }
+
 }
@@ -0,0 +1,85 @@
+package org.camunda.bpm.scenario.test.monitor;
+
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.defer.Deferred;
+import org.camunda.bpm.scenario.delegate.TaskDelegate;
+import org.camunda.bpm.scenario.impl.ScenarioImpl;
+import org.camunda.bpm.scenario.impl.monitor.ActivityMetrics;
+import org.camunda.bpm.scenario.impl.monitor.ActivityMetrics.Kind;
+import org.camunda.bpm.scenario.test.AbstractTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ActivityMetricsTest extends AbstractTest {
+
+  @Before
+  public void record() {
+    ActivityMetrics.record(true);
+  }
+
+  @After
+  public void stopRecording() {
+    ActivityMetrics.record(false);
+  }
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"})
+  public void testWaitToAction() {
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(final TaskDelegate task) {
+        task.defer("PT1H", new Deferred() {
+          @Override
+          public void execute() {
+            task.complete();
+          }
+        });
+      }
+    });
+
+    ActivityMetrics metrics = ((ScenarioImpl) Scenario.run(scenario).startByKey("UserTaskTest").execute()).metrics();
+
+    assertEquals(2, metrics.get("UserTask", Kind.WaitToAction).count());
+    assertEquals(0, metrics.get("UserTask", Kind.WaitToAction).percentile(50));
+    long hour = TimeUnit.HOURS.toNanos(1);
+    assertTrue(metrics.get("UserTask", Kind.WaitToAction).max() >= hour);
+    assertTrue(metrics.get("UserTask", Kind.WaitToAction).max() <= hour * 1.04);
+    assertEquals(2, metrics.get("UserTask", Kind.Action).count());
+    assertNull(metrics.get("StartEvent", Kind.Action));
+    // no command counter is installed with this engine
+    assertEquals(0, metrics.get("UserTask", Kind.Commands).count());
+
+    ActivityMetrics merged = new ActivityMetrics();
+    merged.merge(metrics);
+    merged.merge(metrics);
+    assertEquals(4, merged.get("UserTask", Kind.Action).count());
+
+  }
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"})
+  public void testNotRecorded() {
+
+    ActivityMetrics.record(false);
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        task.complete();
+      }
+    });
+
+    assertNull(((ScenarioImpl) Scenario.run(scenario).startByKey("UserTaskTest").execute()).metrics());
+
+  }
+
+}
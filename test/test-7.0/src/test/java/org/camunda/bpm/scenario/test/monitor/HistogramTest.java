@@ -0,0 +1,61 @@
+package org.camunda.bpm.scenario.test.monitor;
+
+import org.camunda.bpm.scenario.impl.monitor.Histogram;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class HistogramTest {
+
+  @Test
+  public void testSmallValuesAreExact() {
+    Histogram histogram = new Histogram();
+    for (int i = 1; i <= 50; i++) {
+      histogram.record(i);
+    }
+    assertEquals(50, histogram.count());
+    assertEquals(25, histogram.percentile(50));
+    assertEquals(50, histogram.percentile(100));
+    assertEquals(50, histogram.max());
+    assertEquals(25.5, histogram.mean(), 0.001);
+  }
+
+  @Test
+  public void testRelativeError() {
+    Histogram histogram = new Histogram();
+    Random random = new Random(42);
+    long[] values = new long[10000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (long) Math.exp(random.nextDouble() * 40);
+      histogram.record(values[i]);
+    }
+    java.util.Arrays.sort(values);
+    for (double percentile: new double[] { 10, 50, 90, 99, 99.9 }) {
+      long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+      long reported = histogram.percentile(percentile);
+      assertTrue(reported >= exact);
+      assertTrue(reported <= exact * 1.04 + 1);
+    }
+    assertEquals(values[values.length - 1], histogram.max());
+  }
+
+  @Test
+  public void testMerge() {
+    Histogram one = new Histogram();
+    Histogram other = new Histogram();
+    for (int i = 0; i < 900; i++) {
+      one.record(1000000);
+    }
+    for (int i = 0; i < 100; i++) {
+      other.record(1000000000);
+    }
+    one.merge(other);
+    assertEquals(1000, one.count());
+    assertTrue(one.percentile(50) < 1040000);
+    assertTrue(one.percentile(95) >= 1000000000);
+    assertEquals(1000000000, one.max());
+  }
+
+}
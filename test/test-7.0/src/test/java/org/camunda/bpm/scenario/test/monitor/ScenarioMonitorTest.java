@@ -0,0 +1,73 @@
+package org.camunda.bpm.scenario.test.monitor;
+
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.defer.Deferred;
+import org.camunda.bpm.scenario.delegate.TaskDelegate;
+import org.camunda.bpm.scenario.impl.monitor.ScenarioMonitor;
+import org.camunda.bpm.scenario.test.AbstractTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ScenarioMonitorTest extends AbstractTest {
+
+  private MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+  private ObjectName name;
+
+  @Before
+  public void enable() throws Exception {
+    System.setProperty(ScenarioMonitor.JMX_PROPERTY, "true");
+    name = new ObjectName(ScenarioMonitor.OBJECT_NAME);
+  }
+
+  @After
+  public void disable() {
+    System.clearProperty(ScenarioMonitor.JMX_PROPERTY);
+  }
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"})
+  public void testLiveStatistics() throws Exception {
+
+    final long steps = ScenarioMonitor.get().getSteps();
+    final long ended = ScenarioMonitor.get().getEndedScenarios();
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(final TaskDelegate task) throws Exception {
+        assertEquals(1, server.getAttribute(name, "ActiveScenarios"));
+        assertEquals(1, server.getAttribute(name, "ActiveRunners"));
+        assertEquals(0, server.getAttribute(name, "PendingDeferreds"));
+        assertEquals(1, ((TabularData) server.getAttribute(name, "SimulatedTimes")).size());
+        task.defer("PT1H", new Deferred() {
+          @Override
+          public void execute() throws Exception {
+            task.complete();
+          }
+        });
+        assertEquals(1, server.getAttribute(name, "PendingDeferreds"));
+      }
+    });
+
+    Scenario.run(scenario).startByKey("UserTaskTest").execute();
+
+    assertEquals(0, server.getAttribute(name, "ActiveScenarios"));
+    assertEquals(0, server.getAttribute(name, "PendingDeferreds"));
+    assertEquals(ended + 1, server.getAttribute(name, "EndedScenarios"));
+    assertTrue((Long) server.getAttribute(name, "Steps") > steps);
+    assertTrue((Double) server.getAttribute(name, "SlowestStepMillis") > 0);
+    assertNotNull(server.getAttribute(name, "SlowestStep"));
+
+  }
+
+}
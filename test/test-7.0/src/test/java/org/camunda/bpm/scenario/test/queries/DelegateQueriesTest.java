@@ -0,0 +1,128 @@
+package org.camunda.bpm.scenario.test.queries;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.EventSubscriptionQueryImpl;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.MessageIntermediateCatchEventAction;
+import org.camunda.bpm.scenario.act.ReceiveTaskAction;
+import org.camunda.bpm.scenario.act.SignalIntermediateCatchEventAction;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.delegate.EventSubscriptionDelegate;
+import org.camunda.bpm.scenario.delegate.TaskDelegate;
+import org.camunda.bpm.scenario.impl.monitor.CommandCounter;
+import org.camunda.bpm.scenario.impl.monitor.CommandCounterPlugin;
+import org.camunda.bpm.scenario.test.TestEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Counts the queries needed to resolve the delegate of a wait state and
+ * to act on it: a delegate is resolved once per step, the completion
+ * paths must not query it again.
+ */
+public class DelegateQueriesTest {
+
+  @Mock
+  private ProcessScenario scenario;
+
+  private ProcessEngine processEngine;
+  private CommandCounter counter;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    CommandCounterPlugin plugin = new CommandCounterPlugin();
+    counter = plugin.getCounter();
+    processEngine = TestEngine.named("queries")
+        .plugin(plugin)
+        .resource("org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn")
+        .resource("org/camunda/bpm/scenario/test/waitstates/ReceiveTaskTest.bpmn")
+        .resource("org/camunda/bpm/scenario/test/waitstates/MessageIntermediateCatchEventTest.bpmn")
+        .resource("org/camunda/bpm/scenario/test/waitstates/SignalIntermediateCatchEventTest.bpmn")
+        .build();
+    counter.reset();
+  }
+
+  @After
+  public void close() {
+    if (processEngine != null)
+      processEngine.close();
+  }
+
+  @Test
+  public void testUserTask() {
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        task.complete();
+      }
+    });
+
+    Scenario.run(scenario).startByKey("UserTaskTest").engine(processEngine).execute();
+
+    verify(scenario, times(1)).hasFinished("EndEvent");
+    assertEquals(1, counter.count(TaskQueryImpl.class));
+
+  }
+
+  @Test
+  public void testReceiveTask() {
+
+    when(scenario.waitsAtReceiveTask("ReceiveTask")).thenReturn(new ReceiveTaskAction() {
+      @Override
+      public void execute(EventSubscriptionDelegate messageSubscription) {
+        messageSubscription.receive();
+      }
+    });
+
+    Scenario.run(scenario).startByKey("ReceiveTaskTest").engine(processEngine).execute();
+
+    verify(scenario, times(1)).hasFinished("EndEvent");
+    assertEquals(1, counter.count(EventSubscriptionQueryImpl.class));
+
+  }
+
+  @Test
+  public void testMessageIntermediateCatchEvent() {
+
+    when(scenario.waitsAtMessageIntermediateCatchEvent("MessageIntermediateCatchEvent")).thenReturn(new MessageIntermediateCatchEventAction() {
+      @Override
+      public void execute(EventSubscriptionDelegate messageSubscription) {
+        messageSubscription.receive();
+      }
+    });
+
+    Scenario.run(scenario).startByKey("MessageIntermediateCatchEventTest").engine(processEngine).execute();
+
+    verify(scenario, times(1)).hasFinished("EndEvent");
+    assertEquals(1, counter.count(EventSubscriptionQueryImpl.class));
+
+  }
+
+  @Test
+  public void testSignalIntermediateCatchEvent() {
+
+    when(scenario.waitsAtSignalIntermediateCatchEvent("SignalIntermediateCatchEvent")).thenReturn(new SignalIntermediateCatchEventAction() {
+      @Override
+      public void execute(EventSubscriptionDelegate signalSubscription) {
+        signalSubscription.receive();
+      }
+    });
+
+    Scenario.run(scenario).startByKey("SignalIntermediateCatchEventTest").engine(processEngine).execute();
+
+    verify(scenario, times(1)).hasFinished("EndEvent");
+    assertEquals(1, counter.count(EventSubscriptionQueryImpl.class));
+
+  }
+
+}
@@ -0,0 +1,64 @@
+package org.camunda.bpm.scenario.test.timeline;
+
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.defer.Deferred;
+import org.camunda.bpm.scenario.delegate.TaskDelegate;
+import org.camunda.bpm.scenario.test.AbstractTest;
+import org.camunda.bpm.scenario.timeline.ChromeTrace;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ChromeTraceTest extends AbstractTest {
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"})
+  public void testWriteTrace() throws Exception {
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(final TaskDelegate task) {
+        task.defer("PT1H", new Deferred() {
+          @Override
+          public void execute() {
+            task.complete();
+          }
+        });
+      }
+    });
+
+    when(otherScenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+      }
+    });
+
+    Scenario run = Scenario
+      .run(scenario).startByKey("UserTaskTest")
+      .run(otherScenario).startByKey("UserTaskTest")
+      .execute();
+
+    StringWriter writer = new StringWriter();
+    ChromeTrace.write(run, writer);
+    String trace = writer.toString();
+
+    assertTrue(trace.startsWith("{\"traceEvents\":["));
+    assertTrue(trace.endsWith("],\"displayTimeUnit\":\"ms\"}"));
+    assertTrue(trace.contains("\"Simulated time\""));
+    assertTrue(trace.contains("\"Wall time\""));
+    assertTrue(trace.contains("\"Scheduler steps\""));
+    assertTrue(trace.contains("\"Actions\""));
+    assertTrue(trace.contains("\"name\":\"UserTask\",\"cat\":\"userTask\",\"ph\":\"X\",\"pid\":1,\"tid\":1"));
+    assertTrue(trace.contains("\"name\":\"UserTask\",\"cat\":\"userTask\",\"ph\":\"X\",\"pid\":1,\"tid\":2"));
+    assertTrue(trace.contains("\"cat\":\"deferred\""));
+    // the deferred completion took one hour of simulated time
+    assertTrue(trace.contains("\"dur\":3600000000"));
+
+  }
+
+}
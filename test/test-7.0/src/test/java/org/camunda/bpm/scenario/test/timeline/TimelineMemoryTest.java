@@ -0,0 +1,64 @@
+package org.camunda.bpm.scenario.test.timeline;
+
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.impl.timeline.TimelineImpl;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Records a simulation of one million activity instances and reports
+ * the memory needed per recorded event.
+ */
+public class TimelineMemoryTest {
+
+  private static Logger log = Logger.getLogger(TimelineMemoryTest.class.getName());
+
+  private static final int EVENTS = 1000000;
+  private static final int INSTANCES = 1000;
+  private static final int ACTIVITIES = 50;
+
+  @Test
+  public void testBytesPerEvent() {
+
+    ProcessScenario scenario = mock(ProcessScenario.class);
+    String[] activityIds = new String[ACTIVITIES];
+    for (int i = 0; i < ACTIVITIES; i++) {
+      activityIds[i] = "Activity" + i;
+    }
+
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+    TimelineImpl timeline = new TimelineImpl();
+    for (int i = 0; i < INSTANCES; i++) {
+      timeline.instance("ProcessInstance" + i, scenario);
+    }
+    Date time = new Date();
+    for (int i = 0; i < EVENTS; i++) {
+      // new strings on purpose, just as delivered by every history query
+      String activityId = new String(activityIds[i % ACTIVITIES]);
+      int row = timeline.started(i % INSTANCES, activityId, "userTask", "Process", time);
+      timeline.finished(row, time, false);
+    }
+
+    System.gc();
+    long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+    assertEquals(EVENTS, timeline.size());
+    assertEquals(EVENTS / ACTIVITIES, timeline.entries("Activity0").size());
+
+    double estimated = (double) timeline.sizeInBytes() / EVENTS;
+    double measured = (double) (heapAfter - heapBefore) / EVENTS;
+    log.info(String.format("Timeline of %d events: %.1f bytes per event estimated, %.1f bytes per event measured on heap", EVENTS, estimated, measured));
+
+    assertTrue("Expected less than 48 bytes per event, but found " + estimated, estimated < 48);
+
+  }
+
+}
@@ -0,0 +1,94 @@
+package org.camunda.bpm.scenario.test.timeline;
+
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.impl.timeline.TimelineImpl;
+import org.camunda.bpm.scenario.impl.timeline.TimelineSegment;
+import org.camunda.bpm.scenario.timeline.TimelineEntry;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class TimelineSpillTest {
+
+  @Test
+  public void testSpillToSegments() {
+
+    ProcessScenario scenario = mock(ProcessScenario.class);
+    ProcessScenario otherScenario = mock(ProcessScenario.class);
+    ProcessInstance otherInstance = mock(ProcessInstance.class);
+    when(otherInstance.getId()).thenReturn("2");
+
+    TimelineImpl timeline = new TimelineImpl(100);
+    int instance = timeline.instance("1", scenario);
+    int otherInstanceIndex = timeline.instance("2", otherScenario);
+
+    // the first activity instance is finished after being spilled to disk
+    int first = timeline.started(instance, "Waiting", "userTask", "Process", new Date(0));
+    for (int i = 1; i < 1000; i++) {
+      int row = timeline.started(i % 2 == 0 ? instance : otherInstanceIndex, "Task" + i % 10, "userTask", "Process", new Date(i));
+      timeline.finished(row, new Date(i + 1), i % 3 == 0);
+    }
+    timeline.finished(first, new Date(1000), false);
+    timeline.started(instance, "EndEvent", "noneEndEvent", "Process", new Date(1000));
+
+    assertEquals(1001, timeline.size());
+    assertEquals(1000, timeline.spilled());
+
+    TimelineEntry waiting = timeline.entries().get(0);
+    assertEquals("Waiting", waiting.getActivityId());
+    assertTrue(waiting.isFinished());
+    assertEquals(1000, waiting.getEndTime().getTime());
+
+    List<TimelineEntry> task3 = timeline.entries("Task3");
+    assertEquals(100, task3.size());
+    assertEquals("2", task3.get(0).getProcessInstanceId());
+    assertEquals(3, task3.get(0).getStartTime().getTime());
+    assertTrue(task3.get(0).isCanceled());
+    assertFalse(timeline.entries("Task1").get(0).isCanceled());
+
+    assertEquals(500, timeline.entries(otherInstance).size());
+    assertEquals(500, timeline.entries(otherScenario).size());
+    assertEquals(501, timeline.entries(scenario).size());
+
+    assertTrue(timeline.hasPassedBefore("Task1", "Task2"));
+    assertTrue(timeline.hasPassedBefore("Waiting", "EndEvent"));
+    assertFalse(timeline.hasPassedBefore("Waiting", "Task9"));
+    assertFalse(timeline.hasFinished("EndEvent"));
+
+    timeline.close();
+    assertEquals("EndEvent", timeline.entries().get(1000).getActivityId());
+
+  }
+
+  @Test
+  public void testCloseSegment() {
+
+    TimelineSegment segment = new TimelineSegment(10);
+    segment.append(0, 1, 2, 3, 4, 5, (byte) 0);
+    File file = segment.getFile();
+    assertTrue(file.exists());
+
+    segment.close();
+    assertFalse(file.exists());
+    segment.close();
+
+  }
+
+  @Test(expected=IllegalStateException.class)
+  public void testAccessClosedSegment() {
+
+    TimelineSegment segment = new TimelineSegment(10);
+    segment.append(0, 1, 2, 3, 4, 5, (byte) 0);
+    segment.close();
+
+    segment.activity(0);
+
+  }
+
+}
@@ -0,0 +1,93 @@
+package org.camunda.bpm.scenario.test.timeline;
+
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.defer.Deferred;
+import org.camunda.bpm.scenario.delegate.TaskDelegate;
+import org.camunda.bpm.scenario.test.AbstractTest;
+import org.camunda.bpm.scenario.timeline.Timeline;
+import org.camunda.bpm.scenario.timeline.TimelineEntry;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class TimelineTest extends AbstractTest {
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"})
+  public void testCompleteTask() {
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(final TaskDelegate task) {
+        task.defer("PT1H", new Deferred() {
+          @Override
+          public void execute() {
+            task.complete();
+          }
+        });
+      }
+    });
+
+    Timeline timeline = Scenario.run(scenario).startByKey("UserTaskTest").execute().timeline();
+
+    List<TimelineEntry> entries = timeline.entries();
+    assertEquals(3, entries.size());
+    assertEquals("StartEvent", entries.get(0).getActivityId());
+    assertEquals("UserTask", entries.get(1).getActivityId());
+    assertEquals("userTask", entries.get(1).getActivityType());
+    assertEquals("UserTaskTest", entries.get(1).getProcessDefinitionKey());
+    assertEquals("EndEvent", entries.get(2).getActivityId());
+
+    TimelineEntry userTask = entries.get(1);
+    assertTrue(userTask.isFinished());
+    assertFalse(userTask.isCanceled());
+    assertEquals(60 * 60 * 1000, userTask.getEndTime().getTime() - userTask.getStartTime().getTime());
+
+    assertTrue(timeline.hasFinished("EndEvent"));
+    assertTrue(timeline.hasPassedBefore("StartEvent", "UserTask"));
+    assertTrue(timeline.hasPassedBefore("UserTask", "EndEvent"));
+    assertFalse(timeline.hasPassedBefore("EndEvent", "UserTask"));
+
+  }
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"})
+  public void testWhileOtherProcessInstanceIsRunning() {
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        task.complete();
+      }
+    });
+
+    when(otherScenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+      }
+    });
+
+    Scenario run = Scenario
+      .run(scenario).startByKey("UserTaskTest")
+      .run(otherScenario).startByKey("UserTaskTest")
+      .execute();
+
+    Timeline timeline = run.timeline();
+
+    assertEquals(5, timeline.entries().size());
+    assertEquals(3, timeline.entries(scenario).size());
+    assertEquals(2, timeline.entries(otherScenario).size());
+    assertEquals(2, timeline.entries("UserTask").size());
+    assertEquals(run.instance(otherScenario).getId(), timeline.entries(otherScenario).get(1).getProcessInstanceId());
+    assertFalse(timeline.entries(otherScenario).get(1).isFinished());
+    assertNull(timeline.entries(otherScenario).get(1).getEndTime());
+    assertFalse(timeline.hasStarted("OtherTask"));
+
+  }
+
+}
@@ -0,0 +1,50 @@
+package org.camunda.bpm.scenario.test.util;
+
+import org.camunda.bpm.scenario.impl.util.IdKey;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class IdKeyTest {
+
+  @Test
+  public void testNumericIds() {
+    assertTrue(IdKey.of("9").compareTo(IdKey.of("10")) < 0);
+    assertTrue(IdKey.of("10").compareTo(IdKey.of("9")) > 0);
+    assertEquals(0, IdKey.of("42").compareTo(IdKey.of("42")));
+    assertEquals(IdKey.of("42"), IdKey.of("42"));
+    assertTrue(IdKey.of("1234567890123456789").compareTo(IdKey.of("234567890123456789")) > 0);
+  }
+
+  @Test
+  public void testPrefixedIds() {
+    assertTrue(IdKey.of("subProcess:9").compareTo(IdKey.of("task:10")) < 0);
+    assertEquals(IdKey.of("42"), IdKey.of("task:42"));
+  }
+
+  @Test
+  public void testUuidIdsOrderLikeUuids() {
+    Random random = new Random(42);
+    for (int i = 0; i < 10000; i++) {
+      UUID uuid1 = new UUID(random.nextLong(), random.nextLong());
+      UUID uuid2 = random.nextBoolean() ? new UUID(uuid1.getMostSignificantBits(), random.nextLong()) : new UUID(random.nextLong(), random.nextLong());
+      int expected = Integer.signum(uuid1.compareTo(uuid2));
+      assertEquals(expected, Integer.signum(IdKey.of(uuid1.toString()).compareTo(IdKey.of(uuid2.toString()))));
+      assertEquals(expected, Integer.signum(IdKey.of(uuid1.toString().toUpperCase()).compareTo(IdKey.of(uuid2.toString()))));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedId() {
+    IdKey.of("unsupported");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMixedIds() {
+    IdKey.of("42").compareTo(IdKey.of(UUID.randomUUID().toString()));
+  }
+
+}
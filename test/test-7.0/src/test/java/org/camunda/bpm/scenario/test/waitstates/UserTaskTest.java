@@ -7,6 +7,9 @@ import org.camunda.bpm.scenario.delegate.TaskDelegate;
 import org.camunda.bpm.scenario.test.AbstractTest;
 import org.junit.Test;
 
+import java.util.Map;
+
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -88,4 +91,28 @@ public class UserTaskTest extends AbstractTest {
 
   }
 
+  @Test(expected = UnsupportedOperationException.class)
+  @Deployment(resources = {"org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn"})
+  public void testVariableSnapshot() {
+
+    variables.put("count", 1);
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        Map<String, Object> snapshot = task.getVariables();
+        assertEquals(1, snapshot.get("count"));
+        assertEquals(1, task.getVariable("count"));
+        assertEquals(1, task.getProcessInstance().getVariable("count"));
+        assertSame(snapshot, task.getVariables());
+        rule.getRuntimeService().setVariable(task.getProcessInstanceId(), "count", 2);
+        assertEquals(1, task.getVariable("count"));
+        snapshot.put("count", 3);
+      }
+    });
+
+    Scenario.run(scenario).startByKey("UserTaskTest", variables).execute();
+
+  }
+
 }
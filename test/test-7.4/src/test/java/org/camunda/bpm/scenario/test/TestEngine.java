@@ -0,0 +1,96 @@
+package org.camunda.bpm.scenario.test;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds an in memory process engine of its own for tests needing plugins
+ * or a history level other than the one configured for the process engine
+ * rule. Close the engine built after the test.
+ *
+ * <pre>
+ * processEngine = TestEngine.named("queries")
+ *   .plugin(new CommandCounterPlugin())
+ *   .resource("org/camunda/bpm/scenario/test/waitstates/UserTaskTest.bpmn")
+ *   .build();
+ * </pre>
+ */
+public class TestEngine {
+
+  private ProcessEngineConfigurationImpl configuration;
+  private List<ProcessEnginePlugin> plugins = new ArrayList<ProcessEnginePlugin>();
+  private List<String> resources = new ArrayList<String>();
+  private Map<String, String> strings = new LinkedHashMap<String, String>();
+
+  private TestEngine(String name) {
+    configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setProcessEngineName(name)
+        .setJdbcUrl("jdbc:h2:mem:" + name)
+        .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP)
+        .setHistory(ProcessEngineConfiguration.HISTORY_AUDIT)
+        .setJobExecutorActivate(false);
+  }
+
+  /**
+   * @param name of the process engine and its in memory database
+   */
+  public static TestEngine named(String name) {
+    return new TestEngine(name);
+  }
+
+  public TestEngine history(String history) {
+    configuration.setHistory(history);
+    return this;
+  }
+
+  public TestEngine plugin(ProcessEnginePlugin plugin) {
+    plugins.add(plugin);
+    return this;
+  }
+
+  /**
+   * @param resource classpath resource to be deployed
+   */
+  public TestEngine resource(String resource) {
+    resources.add(resource);
+    return this;
+  }
+
+  /**
+   * @param name of the resource to be deployed
+   * @param text of the resource to be deployed, e.g. a BPMN process
+   */
+  public TestEngine resource(String name, String text) {
+    strings.put(name, text);
+    return this;
+  }
+
+  /**
+   * @return the process engine built, with the resources given deployed
+   */
+  public ProcessEngine build() {
+    configuration.setProcessEnginePlugins(plugins);
+    ProcessEngine processEngine = configuration.buildProcessEngine();
+    if (!resources.isEmpty() || !strings.isEmpty()) {
+      DeploymentBuilder deployment = processEngine.getRepositoryService().createDeployment();
+      for (String resource: resources) {
+        deployment.addClasspathResource(resource);
+      }
+      for (Map.Entry<String, String> string: strings.entrySet()) {
+        deployment.addString(string.getKey(), string.getValue());
+      }
+      deployment.deploy();
+    }
+    return processEngine;
+  }
+
+}
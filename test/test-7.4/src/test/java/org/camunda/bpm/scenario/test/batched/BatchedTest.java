@@ -0,0 +1,190 @@
+package org.camunda.bpm.scenario.test.batched;
+
+import org.camunda.bpm.engine.delegate.BpmnError;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.mock.Mocks;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.ServiceTaskAction;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.defer.Deferred;
+import org.camunda.bpm.scenario.delegate.ExternalTaskDelegate;
+import org.camunda.bpm.scenario.delegate.TaskDelegate;
+import org.camunda.bpm.scenario.impl.timeline.TimelineImpl;
+import org.camunda.bpm.scenario.impl.timeline.TimelineSteps;
+import org.camunda.bpm.scenario.test.AbstractTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@Deployment(resources = {"org/camunda/bpm/scenario/test/batched/BatchedTest.bpmn"})
+public class BatchedTest extends AbstractTest {
+
+  @Mock
+  private JavaDelegate javaDelegate;
+
+  @Mock
+  private JavaDelegate asyncDelegate;
+
+  @Before
+  public void registerDelegates() {
+    Mocks.register("javaDelegate", javaDelegate);
+    Mocks.register("asyncDelegate", asyncDelegate);
+  }
+
+  @After
+  public void resetDelegates() {
+    Mocks.reset();
+  }
+
+  @Test
+  public void testCompleteTasksInSubsequentSteps() {
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        task.complete();
+      }
+    });
+
+    when(scenario.waitsAtServiceTask("ServiceTask")).thenReturn(new ServiceTaskAction() {
+      @Override
+      public void execute(ExternalTaskDelegate externalTask) {
+        externalTask.complete();
+      }
+    });
+
+    Scenario run = Scenario.run(scenario).startByKey("BatchedTest").batched().execute();
+
+    verify(scenario, times(1)).hasCompleted("UserTask");
+    verify(scenario, times(1)).hasCompleted("ServiceTask");
+    verify(scenario, times(1)).hasFinished("EndEvent");
+
+    TimelineSteps steps = ((TimelineImpl) run.timeline()).steps();
+    assertEquals(2, steps.size());
+    assertEquals("UserTask", steps.name(0));
+    assertEquals("ServiceTask", steps.name(1));
+
+  }
+
+  @Test
+  public void testWaitAtTaskReachedAfterStart() {
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        // Deal with task but do nothing here
+      }
+    });
+
+    Scenario.run(scenario).startByKey("BatchedTest").batched().execute();
+
+    verify(scenario, times(1)).hasStarted("UserTask");
+    verify(scenario, never()).hasFinished("UserTask");
+    verify(scenario, never()).hasStarted("ServiceTask");
+
+  }
+
+  @Test
+  public void testExecuteDeferredAction() {
+
+    when(scenario.waitsAtUserTask("TimerUserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(final TaskDelegate task) {
+        task.defer("PT1M", new Deferred() {
+          @Override
+          public void execute() {
+            task.complete();
+          }
+        });
+      }
+    });
+
+    Scenario.run(scenario).startByKey("BatchedTimerTest").batched().execute();
+
+    verify(scenario, times(1)).hasCompleted("TimerUserTask");
+    verify(scenario, times(1)).hasFinished("EndEventCompleted");
+    verify(scenario, never()).hasFinished("EndEventCanceled");
+
+  }
+
+  @Test
+  public void testTriggerTimer() {
+
+    when(scenario.waitsAtUserTask("TimerUserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(final TaskDelegate task) {
+        task.defer("PT10M", new Deferred() {
+          @Override
+          public void execute() {
+            task.complete();
+          }
+        });
+      }
+    });
+
+    Scenario.run(scenario).startByKey("BatchedTimerTest").batched().execute();
+
+    verify(scenario, times(1)).hasFinished("BoundaryTimerEvent");
+    verify(scenario, times(1)).hasFinished("EndEventCanceled");
+    verify(scenario, never()).hasFinished("EndEventCompleted");
+
+  }
+
+  @Test
+  public void testCatchBpmnError() throws Exception {
+
+    when(scenario.waitsAtUserTask("DelegateUserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        task.complete();
+      }
+    });
+
+    doThrow(new BpmnError("error")).when(javaDelegate).execute(any(DelegateExecution.class));
+
+    Scenario.run(scenario).startByKey("BatchedDelegateTest").batched().execute();
+
+    verify(scenario, times(1)).hasCompleted("DelegateUserTask");
+    verify(scenario, times(1)).hasFinished("EndEventError");
+    verify(scenario, never()).hasStarted("AsyncServiceTask");
+
+  }
+
+  @Test
+  public void testFailingJobKeepsStepAndRetries() throws Exception {
+
+    when(scenario.waitsAtUserTask("DelegateUserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        task.complete();
+      }
+    });
+
+    doThrow(new RuntimeException("failing")).when(asyncDelegate).execute(any(DelegateExecution.class));
+
+    try {
+      Scenario.run(scenario).startByKey("BatchedDelegateTest").batched().execute();
+      fail("Failing job expected to throw an exception");
+    } catch (RuntimeException e) {
+      // expected
+    }
+
+    // the job failed in a command of its own, so the steps before stay
+    // committed and the engine decremented the retries of the job
+    assertEquals(1, rule.getHistoryService().createHistoricTaskInstanceQuery()
+        .taskDefinitionKey("DelegateUserTask").finished().count());
+    Job job = rule.getManagementService().createJobQuery().singleResult();
+    assertNotNull(job);
+    assertEquals(2, job.getRetries());
+    assertEquals("failing", job.getExceptionMessage());
+
+  }
+
+}
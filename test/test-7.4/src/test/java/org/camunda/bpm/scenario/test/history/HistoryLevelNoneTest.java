@@ -0,0 +1,117 @@
+package org.camunda.bpm.scenario.test.history;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.TimerIntermediateEventAction;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.delegate.ProcessInstanceDelegate;
+import org.camunda.bpm.scenario.delegate.TaskDelegate;
+import org.camunda.bpm.scenario.test.TestEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs scenarios against a process engine with history level "none",
+ * which makes the scenario read the runtime activity instance tree.
+ */
+public class HistoryLevelNoneTest {
+
+  private static final String CHILD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" targetNamespace=\"test\">"
+      + "<process id=\"ChildTest\" isExecutable=\"true\">"
+      + "<startEvent id=\"StartEvent\"/>"
+      + "<sequenceFlow id=\"Flow1\" sourceRef=\"StartEvent\" targetRef=\"UserTask\"/>"
+      + "<userTask id=\"UserTask\"/>"
+      + "<sequenceFlow id=\"Flow2\" sourceRef=\"UserTask\" targetRef=\"Timer\"/>"
+      + "<intermediateCatchEvent id=\"Timer\">"
+      + "<timerEventDefinition><timeDuration>PT1H</timeDuration></timerEventDefinition>"
+      + "</intermediateCatchEvent>"
+      + "<sequenceFlow id=\"Flow3\" sourceRef=\"Timer\" targetRef=\"EndEvent\"/>"
+      + "<endEvent id=\"EndEvent\"/>"
+      + "</process>"
+      + "</definitions>";
+
+  private static final String PARENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" targetNamespace=\"test\">"
+      + "<process id=\"ParentTest\" isExecutable=\"true\">"
+      + "<startEvent id=\"StartEvent\"/>"
+      + "<sequenceFlow id=\"Flow1\" sourceRef=\"StartEvent\" targetRef=\"CallActivity\"/>"
+      + "<callActivity id=\"CallActivity\" calledElement=\"ChildTest\"/>"
+      + "<sequenceFlow id=\"Flow2\" sourceRef=\"CallActivity\" targetRef=\"EndEvent\"/>"
+      + "<endEvent id=\"EndEvent\"/>"
+      + "</process>"
+      + "</definitions>";
+
+  @Mock
+  private ProcessScenario scenario;
+
+  @Mock
+  private ProcessScenario childScenario;
+
+  private ProcessEngine processEngine;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    processEngine = TestEngine.named("history-none")
+        .history(ProcessEngineConfiguration.HISTORY_NONE)
+        .resource("ChildTest.bpmn", CHILD)
+        .resource("ParentTest.bpmn", PARENT)
+        .build();
+    when(childScenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        task.complete();
+      }
+    });
+    when(childScenario.waitsAtTimerIntermediateEvent("Timer")).thenReturn(new TimerIntermediateEventAction() {
+      @Override
+      public void execute(ProcessInstanceDelegate processInstance) {
+        // Just wait for the timer to fire
+      }
+    });
+  }
+
+  @After
+  public void close() {
+    if (processEngine != null)
+      processEngine.close();
+  }
+
+  @Test
+  public void testWaitstates() {
+
+    Scenario.run(childScenario).startByKey("ChildTest").engine(processEngine).execute();
+
+    verify(childScenario, times(1)).hasStarted("UserTask");
+    verify(childScenario, times(1)).hasFinished("UserTask");
+    verify(childScenario, times(1)).hasStarted("Timer");
+    verify(childScenario, times(1)).hasFinished("Timer");
+    verify(childScenario, never()).hasFinished("EndEvent");
+    assertEquals(0, processEngine.getRuntimeService().createProcessInstanceQuery().count());
+
+  }
+
+  @Test
+  public void testCallActivity() {
+
+    when(scenario.runsCallActivity("CallActivity")).thenReturn(Scenario.use(childScenario));
+
+    Scenario.run(scenario).startByKey("ParentTest").engine(processEngine).execute();
+
+    verify(childScenario, times(1)).hasFinished("UserTask");
+    verify(childScenario, times(1)).hasFinished("Timer");
+    verify(scenario, times(1)).hasFinished("CallActivity");
+    assertEquals(0, processEngine.getRuntimeService().createProcessInstanceQuery().count());
+
+  }
+
+}
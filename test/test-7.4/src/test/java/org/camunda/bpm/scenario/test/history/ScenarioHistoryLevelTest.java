@@ -0,0 +1,91 @@
+package org.camunda.bpm.scenario.test.history;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.UserTaskAction;
+import org.camunda.bpm.scenario.delegate.TaskDelegate;
+import org.camunda.bpm.scenario.impl.history.ScenarioHistoryLevel;
+import org.camunda.bpm.scenario.impl.history.ScenarioHistoryPlugin;
+import org.camunda.bpm.scenario.test.TestEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ScenarioHistoryLevelTest {
+
+  private static final String PROCESS = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" targetNamespace=\"test\">"
+      + "<process id=\"HistoryTest\" isExecutable=\"true\">"
+      + "<startEvent id=\"StartEvent\"/>"
+      + "<sequenceFlow id=\"Flow1\" sourceRef=\"StartEvent\" targetRef=\"UserTask\"/>"
+      + "<userTask id=\"UserTask\"/>"
+      + "<sequenceFlow id=\"Flow2\" sourceRef=\"UserTask\" targetRef=\"EndEvent\"/>"
+      + "<endEvent id=\"EndEvent\"/>"
+      + "</process>"
+      + "</definitions>";
+
+  @Mock
+  private ProcessScenario scenario;
+
+  private ProcessEngine processEngine;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    processEngine = TestEngine.named("history-scenario")
+        .history(ProcessEngineConfiguration.HISTORY_FULL)
+        .plugin(new ScenarioHistoryPlugin())
+        .resource("HistoryTest.bpmn", PROCESS)
+        .build();
+  }
+
+  @After
+  public void close() {
+    if (processEngine != null)
+      processEngine.close();
+  }
+
+  @Test
+  public void testHistoryLevel() {
+
+    assertEquals(ScenarioHistoryLevel.NAME, ((ProcessEngineImpl) processEngine)
+        .getProcessEngineConfiguration().getHistoryLevel().getName());
+
+  }
+
+  @Test
+  public void testActivityInstancesOnly() {
+
+    when(scenario.waitsAtUserTask("UserTask")).thenReturn(new UserTaskAction() {
+      @Override
+      public void execute(TaskDelegate task) {
+        task.complete(Variables.createVariables().putValue("variable", "value"));
+      }
+    });
+
+    Scenario.run(scenario).startByKey("HistoryTest").engine(processEngine).execute();
+
+    verify(scenario, times(1)).hasCompleted("StartEvent");
+    verify(scenario, times(1)).hasCompleted("UserTask");
+    verify(scenario, times(1)).hasCompleted("EndEvent");
+
+    HistoryService historyService = processEngine.getHistoryService();
+    assertEquals(3, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricDetailQuery().count());
+
+  }
+
+}
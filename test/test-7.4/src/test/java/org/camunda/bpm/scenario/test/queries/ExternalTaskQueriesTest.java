@@ -0,0 +1,68 @@
+package org.camunda.bpm.scenario.test.queries;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.ExternalTaskQueryImpl;
+import org.camunda.bpm.scenario.ProcessScenario;
+import org.camunda.bpm.scenario.Scenario;
+import org.camunda.bpm.scenario.act.ServiceTaskAction;
+import org.camunda.bpm.scenario.delegate.ExternalTaskDelegate;
+import org.camunda.bpm.scenario.impl.monitor.CommandCounter;
+import org.camunda.bpm.scenario.impl.monitor.CommandCounterPlugin;
+import org.camunda.bpm.scenario.test.TestEngine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Counts the queries needed to resolve an external task and to complete
+ * it: the external task is resolved once per step and then locked by id.
+ */
+public class ExternalTaskQueriesTest {
+
+  @Mock
+  private ProcessScenario scenario;
+
+  private ProcessEngine processEngine;
+  private CommandCounter counter;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    CommandCounterPlugin plugin = new CommandCounterPlugin();
+    counter = plugin.getCounter();
+    processEngine = TestEngine.named("queries")
+        .plugin(plugin)
+        .resource("org/camunda/bpm/scenario/test/waitstates/ServiceTaskTest.bpmn")
+        .build();
+    counter.reset();
+  }
+
+  @After
+  public void close() {
+    if (processEngine != null)
+      processEngine.close();
+  }
+
+  @Test
+  public void testCompleteTask() {
+
+    when(scenario.waitsAtServiceTask("ServiceTask")).thenReturn(new ServiceTaskAction() {
+      @Override
+      public void execute(ExternalTaskDelegate externalTask) {
+        externalTask.complete();
+      }
+    });
+
+    Scenario.run(scenario).startByKey("ServiceTaskTest").engine(processEngine).execute();
+
+    verify(scenario, times(1)).hasFinished("EndEvent");
+    assertEquals(1, counter.count(ExternalTaskQueryImpl.class));
+
+  }
+
+}
@@ -1,5 +1,7 @@
 package org.camunda.bpm.scenario.test.waitstates;
 
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.scenario.Scenario;
 import org.camunda.bpm.scenario.act.ServiceTaskAction;
@@ -7,6 +9,7 @@ import org.camunda.bpm.scenario.delegate.ExternalTaskDelegate;
 import org.camunda.bpm.scenario.test.AbstractTest;
 import org.junit.Test;
 
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -82,4 +85,31 @@ public class ServiceTaskTest extends AbstractTest {
 
   }
 
+  @Test
+  public void testCompleteTaskDoesNotLockOtherTasks() {
+
+    when(scenario.waitsAtServiceTask("ServiceTask")).thenReturn(new ServiceTaskAction() {
+      @Override
+      public void execute(ExternalTaskDelegate externalTask) {
+        externalTask.complete();
+      }
+    });
+
+    when(otherScenario.waitsAtServiceTask("ServiceTask")).thenReturn(new ServiceTaskAction() {
+      @Override
+      public void execute(ExternalTaskDelegate externalTask) {
+      }
+    });
+
+    ProcessInstance other = Scenario.run(otherScenario).startByKey("ServiceTaskTest").execute().instance(otherScenario);
+    Scenario.run(scenario).startByKey("ServiceTaskTest").execute();
+
+    verify(scenario, times(1)).hasCompleted("ServiceTask");
+    ExternalTask externalTask = rule.getProcessEngine().getExternalTaskService().createExternalTaskQuery()
+        .processInstanceId(other.getId()).singleResult();
+    assertNull(externalTask.getWorkerId());
+    assertNull(externalTask.getLockExpirationTime());
+
+  }
+
 }
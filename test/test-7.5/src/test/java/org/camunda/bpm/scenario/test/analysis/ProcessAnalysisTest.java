@@ -0,0 +1,68 @@
+package org.camunda.bpm.scenario.test.analysis;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.scenario.impl.ProcessAnalysis;
+import org.camunda.bpm.scenario.impl.ProcessAnalysis.Kind;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ProcessAnalysisTest {
+
+  private static final String PROCESS = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" targetNamespace=\"test\">"
+      + "<process id=\"AnalysisTest\" isExecutable=\"true\">"
+      + "<startEvent id=\"StartEvent\"/>"
+      + "<subProcess id=\"SubProcess\">"
+      + "<startEvent id=\"SubProcessStart\"/>"
+      + "<userTask id=\"UserTask\"/>"
+      + "<endEvent id=\"SubProcessEnd\"/>"
+      + "</subProcess>"
+      + "<boundaryEvent id=\"Timeout\" attachedToRef=\"SubProcess\">"
+      + "<timerEventDefinition><timeDuration>PT2H</timeDuration></timerEventDefinition>"
+      + "</boundaryEvent>"
+      + "<intermediateCatchEvent id=\"Timer\">"
+      + "<timerEventDefinition><timeDuration>PT1H</timeDuration></timerEventDefinition>"
+      + "</intermediateCatchEvent>"
+      + "<intermediateCatchEvent id=\"Message\"><messageEventDefinition/></intermediateCatchEvent>"
+      + "<parallelGateway id=\"Gateway\"/>"
+      + "<endEvent id=\"EndEvent\"/>"
+      + "</process>"
+      + "</definitions>";
+
+  @Test
+  public void testWaitstatesAndTransientActivities() {
+    ProcessAnalysis analysis = new ProcessAnalysis(model(PROCESS));
+    assertEquals(Kind.userTask, analysis.get("UserTask").getKind());
+    assertEquals(Kind.intermediateTimer, analysis.get("Timer").getKind());
+    assertEquals(Kind.intermediateMessageCatch, analysis.get("Message").getKind());
+    for (String activityId: Arrays.asList("StartEvent", "SubProcess", "SubProcessStart", "SubProcessEnd", "Timeout", "Gateway", "EndEvent")) {
+      assertFalse(activityId, analysis.get(activityId).isWaitstate());
+    }
+    assertNull(analysis.get("SubProcess#multiInstanceBody"));
+  }
+
+  @Test
+  public void testExternalTasks() {
+    assertExternal("SendTaskTest", "SendTask", Kind.sendTask);
+    assertExternal("BusinessRuleTaskTest", "BusinessRuleTask", Kind.businessRuleTask);
+    assertExternal("MessageIntermediateThrowEventTest", "MessageIntermediateThrowEvent", Kind.intermediateMessageThrowEvent);
+    assertExternal("MessageEndEventTest", "MessageEndEvent", Kind.messageEndEvent);
+  }
+
+  private void assertExternal(String resource, String activityId, Kind kind) {
+    BpmnModelInstance model = Bpmn.readModelFromStream(getClass().getClassLoader()
+        .getResourceAsStream("org/camunda/bpm/scenario/test/waitstates/" + resource + ".bpmn"));
+    assertEquals(kind, new ProcessAnalysis(model).get(activityId).getKind());
+  }
+
+  private BpmnModelInstance model(String xml) {
+    return Bpmn.readModelFromStream(new ByteArrayInputStream(xml.getBytes(Charset.forName("UTF-8"))));
+  }
+
+}